@@ -1,3 +1,9 @@
 plugins {
     common
-}
\ No newline at end of file
+    id("me.champeau.jmh") version "0.6.6"
+}
+
+jmh {
+    jmhVersion.set("1.35")
+    profilers.add("gc")
+}
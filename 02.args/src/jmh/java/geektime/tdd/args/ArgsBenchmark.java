@@ -0,0 +1,135 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArgsBenchmark {
+
+    public record BoolOptions(@Option("l") boolean logging) {
+    }
+
+    public record UnaryOptions(@Option("p") int port) {
+    }
+
+    public record ListOptions(@Option("g") String[] group) {
+    }
+
+    public record ServerOptions(@Option("l") boolean logging, @Option("p") int port, @Option("d") String directory,
+                                @Option("g") String[] group, @Option("i") int[] ids) {
+    }
+
+    /**
+     * 参数规模相关的状态, 只有使用它的基准按规模重复运行.
+     */
+    @State(Scope.Benchmark)
+    public static class Sized {
+        @Param({"small", "typical", "large"})
+        public String size;
+
+        private final Args<ServerOptions> server = new Args<>();
+        private final Args<ListOptions> list = new Args<>();
+        private String[] arguments;
+        private String[] group;
+
+        @Setup
+        public void setup() {
+            int values = switch (size) {
+                case "small" -> 0;
+                case "typical" -> 4;
+                default -> 10_000;
+            };
+            List<String> group = new ArrayList<>(List.of("-g"));
+            List<String> ids = new ArrayList<>(List.of("-i"));
+            for (int i = 0; i < values; i++) {
+                group.add("group" + i);
+                ids.add(String.valueOf(i));
+            }
+            List<String> arguments = new ArrayList<>(List.of("-l", "-p", "8080", "-d", "/usr/logs"));
+            if (values > 0) {
+                arguments.addAll(group);
+                arguments.addAll(ids);
+            }
+            this.arguments = arguments.toArray(String[]::new);
+            this.group = group.toArray(String[]::new);
+        }
+    }
+
+    private final Args<BoolOptions> bool = new Args<>();
+    private final Args<UnaryOptions> unary = new Args<>();
+
+    @Benchmark
+    public ServerOptions parse(Sized sized) {
+        return sized.server.parse(ServerOptions.class, sized.arguments);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ServerOptions concurrentParse(Sized sized) {
+        return sized.server.parse(ServerOptions.class, sized.arguments);
+    }
+
+    @Benchmark
+    public ParseResult<ServerOptions> tryParse(Sized sized) {
+        return sized.server.tryParse(ServerOptions.class, sized.arguments);
+    }
+
+    @Benchmark
+    public ListOptions listOption(Sized sized) {
+        return sized.list.parse(ListOptions.class, sized.group);
+    }
+
+    @Benchmark
+    public BoolOptions boolOption() {
+        return bool.parse(BoolOptions.class, "-l");
+    }
+
+    @Benchmark
+    public UnaryOptions unaryOption() {
+        return unary.parse(UnaryOptions.class, "-p", "8080");
+    }
+
+    @Benchmark
+    public Exception illegalValue() {
+        try {
+            unary.parse(UnaryOptions.class, "-p", "port");
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Exception tooManyArguments() {
+        try {
+            bool.parse(BoolOptions.class, "-l", "t", "f");
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public ParseResult<UnaryOptions> collectedIllegalValue() {
+        return unary.tryParse(UnaryOptions.class, "-p", "port");
+    }
+}
@@ -0,0 +1,58 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchParseBenchmark {
+    private static final int BATCH = 10_000;
+
+    public record JobOptions(@Option("l") boolean logging, @Option("p") int port, @Option("d") String directory,
+                             @Option("g") String[] group) {
+    }
+
+    private final Args<JobOptions> args = new Args<>();
+    private List<String[]> batch;
+
+    @Setup
+    public void setup() {
+        batch = IntStream.range(0, BATCH)
+                .mapToObj(i -> new String[]{"-l", "-p", String.valueOf(i), "-d", "/usr/logs", "-g", "a", "b"})
+                .toList();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<JobOptions> sequential() {
+        List<JobOptions> results = new ArrayList<>(BATCH);
+        for (String[] arguments : batch) {
+            results.add(args.parse(JobOptions.class, arguments));
+        }
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<ParseResult<JobOptions>> parallel() {
+        return args.parseAll(JobOptions.class, batch);
+    }
+}
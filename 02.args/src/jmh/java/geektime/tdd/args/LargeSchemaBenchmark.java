@@ -0,0 +1,76 @@
+package geektime.tdd.args;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LargeSchemaBenchmark {
+
+    @Param({"50", "500", "1000"})
+    private int options;
+
+    private List<String> names;
+    private List<String> arguments;
+    private OptionSchema schema;
+
+    @Setup
+    public void setup() {
+        names = IntStream.range(0, options).mapToObj(LargeSchemaBenchmark::name).toList();
+        arguments = new ArrayList<>();
+        for (String name : names) {
+            arguments.add("--" + name);
+            arguments.add("value");
+        }
+        schema = new OptionSchema(names);
+    }
+
+    private static String name(int index) {
+        StringBuilder name = new StringBuilder("option-");
+        for (int i = index; i > 0; i /= 26) {
+            name.append((char) ('a' + i % 26));
+        }
+        return name.toString();
+    }
+
+    @Benchmark
+    public int schemaIndex() {
+        ArgumentIndex index = new ArgumentIndex(arguments, schema);
+        int values = 0;
+        for (String name : names) {
+            values += index.values(name).size();
+        }
+        return values;
+    }
+
+    @Benchmark
+    public int linearScan() {
+        int values = 0;
+        for (String name : names) {
+            int flag = arguments.indexOf("--" + name);
+            int end = flag + 1;
+            while (end < arguments.size() && !arguments.get(end).startsWith("-")) {
+                end++;
+            }
+            values += end - flag - 1;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,53 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveListBenchmark {
+
+    public record BoxedOptions(@Option("i") Integer[] ids) {
+    }
+
+    public record PrimitiveOptions(@Option("i") int[] ids) {
+    }
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private String[] arguments;
+
+    @Setup
+    public void setup() {
+        arguments = IntStream.range(-1, size)
+                .mapToObj(i -> i < 0 ? "-i" : String.valueOf(i))
+                .toArray(String[]::new);
+    }
+
+    @Benchmark
+    public Integer[] boxed() {
+        return new Args<BoxedOptions>().parse(BoxedOptions.class, arguments).ids();
+    }
+
+    @Benchmark
+    public int[] primitive() {
+        return new Args<PrimitiveOptions>().parse(PrimitiveOptions.class, arguments).ids();
+    }
+}
@@ -0,0 +1,51 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordBindingBenchmark {
+
+    public record ServerOptions(@Option("l") boolean logging, @Option("p") int port, @Option("d") String directory) {
+    }
+
+    private final Args<ServerOptions> args = new Args<>();
+    private final String[] arguments = {"-l", "-p", "8080", "-d", "/usr/logs"};
+    private final OptionSchema schema = new OptionSchema(List.of("l", "p", "d"));
+
+    @Benchmark
+    public ServerOptions canonicalConstructorHandle() {
+        return args.parse(ServerOptions.class, arguments);
+    }
+
+    @Benchmark
+    public Object reflectiveFirstConstructor() throws ReflectiveOperationException {
+        Constructor<?> constructor = ServerOptions.class.getDeclaredConstructors()[0];
+        OptionValues values = new OptionValues(new ArgumentIndex(List.of(arguments), schema),
+                OptionParserRegistry.DEFAULT);
+        Parameter[] parameters = constructor.getParameters();
+        Object[] parsed = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            parsed[i] = OptionParserRegistry.DEFAULT.parser(parameters[i].getType())
+                    .parse(values, parameters[i].getAnnotation(Option.class));
+        }
+        return constructor.newInstance(parsed);
+    }
+}
@@ -1,56 +1,65 @@
 package geektime.tdd.args;
 
-import geektime.tdd.args.annotation.Option;
 import geektime.tdd.args.exceptions.IllegalOptionException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Parameter;
+import geektime.tdd.args.exceptions.UnknownOptionException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * 命令行解析.
  */
 public class Args<T> {
+    private final OptionParserRegistry registry;
+    private final List<OptionSource> sources;
 
-    static OptionParsers optionParsers = new OptionParsers();
-    static Map<Class<?>, OptionParser<?>> PARSERS = Map.of(
-            boolean.class, optionParsers.bool(),
-            int.class, optionParsers.unary(0, Integer::parseInt),
-            String.class, optionParsers.unary("", String::valueOf),
-            String[].class, optionParsers.list(String[]::new, String::valueOf),
-            Integer[].class, optionParsers.list(Integer[]::new, Integer::parseInt)
-    );
-
-    private static Object parseOption(List<String> arguments, Parameter parameter) {
-        if (!parameter.isAnnotationPresent(Option.class)) {
-            throw new IllegalOptionException(parameter.getName());
-        }
-        return getOptionParser(parameter.getType())
-                .parse(arguments, parameter.getAnnotation(Option.class));
+    /**
+     * 使用内置的选项类型注册表.
+     */
+    public Args() {
+        this(OptionParserRegistry.DEFAULT);
     }
 
-    private static OptionParser<?> getOptionParser(Class<?> type) {
-        return PARSERS.get(type);
+    /**
+     * 使用指定的选项类型注册表.
+     *
+     * @param registry 选项类型注册表
+     */
+    public Args(OptionParserRegistry registry) {
+        this(registry, List.of());
+    }
+
+    /**
+     * 使用指定的选项类型注册表, 命令行中没有的选项依次从其他来源取值, 最后使用默认值.
+     *
+     * @param registry 选项类型注册表
+     * @param sources  按优先级排列的选项来源
+     */
+    public Args(OptionParserRegistry registry, List<OptionSource> sources) {
+        this.registry = registry;
+        this.sources = List.copyOf(sources);
     }
 
     /**
      * 将命令行参数解析到目标对象.
+     * 以 @ 开头的参数表示参数文件, 文件中以空白分隔的参数会在该位置展开;
+     * 以 @ 开头的选项值需写作 @@, 无法读取的参数文件报告为 IllegalValueException.
      *
      * @param options 目标对象
      * @param args    命令行参数
      * @return T 返回目标对象
      */
-    @SuppressWarnings("unchecked")
     public T parse(Class<T> options, String... args) {
-        List<String> arguments = Arrays.asList(args);
-        Constructor<?> constructor = options.getDeclaredConstructors()[0];
-        try {
-            Object[] values = Arrays.stream(constructor.getParameters())
-                    .map(it -> parseOption(arguments, it))
-                    .toArray();
+        return parse(options, Arrays.asList(args));
+    }
 
-            return (T) constructor.newInstance(values);
+    T parse(Class<T> options, List<String> args) {
+        try {
+            OptionParserRegistry.Plan<T> plan = registry.plan(options);
+            ArgumentIndex index = new ArgumentIndex(ArgumentFile.expand(args), plan.schema());
+            return plan.parser().parse(new OptionValues(index, registry, null, sources));
         } catch (IllegalOptionException e) {
             throw e;
         } catch (Exception e) {
@@ -58,4 +67,64 @@ public class Args<T> {
         }
     }
 
+    /**
+     * 将命令行参数解析到目标对象, 不抛出异常.
+     * 一次解析收集所有选项的错误和未知选项, 这些错误不记录调用栈.
+     *
+     * @param options 目标对象
+     * @param args    命令行参数
+     * @return ParseResult 解析结果
+     */
+    public ParseResult<T> tryParse(Class<T> options, String... args) {
+        return tryParse(options, args, null);
+    }
+
+    ParseResult<T> tryParse(Class<T> options, String[] args,
+                            Map<String, ParseSession.Outcome> outcomes) {
+        List<Exception> errors = new ArrayList<>();
+        T value = null;
+        try {
+            OptionParserRegistry.Plan<T> plan = registry.plan(options);
+            ArgumentIndex index = new ArgumentIndex(ArgumentFile.expand(Arrays.asList(args)), plan.schema());
+            value = plan.parser().parse(new OptionValues(index, registry, errors, sources, outcomes));
+            for (String option : index.unknown()) {
+                errors.add(new UnknownOptionException(option, false));
+            }
+        } catch (Exception e) {
+            errors.add(e);
+        }
+        return new ParseResult<>(errors.isEmpty() ? value : null, List.copyOf(errors));
+    }
+
+    /**
+     * 创建增量解析会话, 会话中反复解析时只重新解析参数发生变化的选项.
+     *
+     * @param options 目标对象
+     * @return ParseSession 解析会话
+     */
+    public ParseSession<T> session(Class<T> options) {
+        return new ParseSession<>(this, options);
+    }
+
+    /**
+     * 并行解析一批命令行参数, 所有参数共享同一个解析计划.
+     *
+     * @param options 目标对象
+     * @param batch   每一项为一组命令行参数
+     * @return List 与输入顺序一致的解析结果
+     */
+    public List<ParseResult<T>> parseAll(Class<T> options, List<String[]> batch) {
+        return parseAll(options, batch.parallelStream()).toList();
+    }
+
+    /**
+     * 解析一批命令行参数, 是否并行由输入的流决定.
+     *
+     * @param options 目标对象
+     * @param batch   每一项为一组命令行参数
+     * @return Stream 与输入顺序一致的解析结果
+     */
+    public Stream<ParseResult<T>> parseAll(Class<T> options, Stream<String[]> batch) {
+        return batch.map(args -> tryParse(options, args));
+    }
 }
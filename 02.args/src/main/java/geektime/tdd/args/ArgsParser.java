@@ -0,0 +1,24 @@
+package geektime.tdd.args;
+
+import java.util.List;
+
+/**
+ * 目标对象解析器.
+ * 由注解处理器为带有 @Option 参数的构造器生成, 解析时不使用反射.
+ */
+public interface ArgsParser<T> {
+    /**
+     * 从已索引的命令行参数构造目标对象.
+     *
+     * @param values 命令行参数
+     * @return T 目标对象
+     */
+    T parse(OptionValues values);
+
+    /**
+     * 目标对象的全部选项名, 用于为目标类型建立一次选项名索引.
+     *
+     * @return List 选项名
+     */
+    List<String> options();
+}
@@ -0,0 +1,123 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.exceptions.IllegalValueException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * 参数文件 (@file).
+ * 通过内存映射读取文件, 只记录每个参数在文件中的位置, 取值时才解码为字符串;
+ * 参数之间以空白字符分隔.
+ */
+class ArgumentFile extends AbstractList<String> implements RandomAccess {
+    static final String PREFIX = "@";
+
+    private final MappedByteBuffer content;
+    private int[] bounds = new int[32];
+    private int size;
+
+    ArgumentFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            content = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        tokenize();
+    }
+
+    /**
+     * 展开命令行参数中的参数文件, 以 @@ 开头的参数表示以 @ 开头的普通参数.
+     * 无法读取的参数文件报告为前一个选项的非法值, 之前没有选项时选项名为 @.
+     *
+     * @param arguments 命令行参数
+     * @return List 展开后的参数, 不含参数文件时返回原列表
+     * @throws IllegalValueException 参数文件无法读取, 原因为读取时的 IOException
+     */
+    static List<String> expand(List<String> arguments) {
+        List<List<String>> segments = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < arguments.size(); i++) {
+            String argument = arguments.get(i);
+            if (argument.startsWith(PREFIX)) {
+                segments.add(arguments.subList(start, i));
+                segments.add(argument.startsWith(PREFIX, 1)
+                        ? List.of(argument.substring(1))
+                        : read(arguments, i));
+                start = i + 1;
+            }
+        }
+        if (segments.isEmpty()) {
+            return arguments;
+        }
+        segments.add(arguments.subList(start, arguments.size()));
+        return new JoinedList(segments);
+    }
+
+    private static List<String> read(List<String> arguments, int index) {
+        String argument = arguments.get(index);
+        try {
+            return new ArgumentFile(Path.of(argument.substring(1)));
+        } catch (IOException e) {
+            IllegalValueException error = new IllegalValueException(owner(arguments, index), argument);
+            error.initCause(e);
+            throw error;
+        }
+    }
+
+    private static String owner(List<String> arguments, int index) {
+        for (int i = index - 1; i >= 0; i--) {
+            String argument = arguments.get(i);
+            if (argument.length() > 1 && argument.charAt(0) == '-' && !Character.isDigit(argument.charAt(1))) {
+                String name = argument.substring(argument.startsWith("--") ? 2 : 1);
+                int separator = name.indexOf('=');
+                return separator < 0 ? name : name.substring(0, separator);
+            }
+        }
+        return PREFIX;
+    }
+
+    @Override
+    public String get(int index) {
+        Objects.checkIndex(index, size);
+        int start = bounds[index * 2];
+        byte[] bytes = new byte[bounds[index * 2 + 1] - start];
+        content.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void tokenize() {
+        int limit = content.limit();
+        int start = -1;
+        for (int i = 0; i <= limit; i++) {
+            boolean separator = i == limit || Character.isWhitespace(content.get(i));
+            if (separator && start >= 0) {
+                add(start, i);
+                start = -1;
+            } else if (!separator && start < 0) {
+                start = i;
+            }
+        }
+    }
+
+    private void add(int start, int end) {
+        if (size * 2 == bounds.length) {
+            bounds = Arrays.copyOf(bounds, bounds.length * 2);
+        }
+        bounds[size * 2] = start;
+        bounds[size * 2 + 1] = end;
+        size++;
+    }
+}
@@ -0,0 +1,133 @@
+package geektime.tdd.args;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 命令行参数索引.
+ * 只遍历一次参数列表, 通过选项名索引把每个选项标志分配给对应的选项, 并记录之后的参数范围;
+ * 选项名直接在原参数中按区间比较, 不截取子串, 不在索引中的选项标志记为未知选项.
+ * 支持 -name, --name, --name=value 和布尔标志组合 -abc; 选项名由字母, 数字和 - 组成, 并且不以数字开头.
+ * 没有位置参数: -- 之后不再识别选项标志, 其后的所有参数都是 -- 之前那个选项的值, 例如 -d -- -x 中 d 的值为 -x;
+ * 因此布尔选项或已有值的单值选项之后的 -- 再跟参数时报告参数过多, -- 之前没有选项时其后的参数被忽略.
+ */
+class ArgumentIndex {
+    static final String END_OF_OPTIONS = "--";
+
+    private static final int TOKEN = 0;
+    private static final int NAME_END = 1;
+    private static final int VALUES_START = 2;
+    private static final int VALUES_END = 3;
+    private static final int STRIDE = 4;
+
+    private final List<String> arguments;
+    private final OptionSchema schema;
+    private final int[] first;
+    private int[] entries = new int[STRIDE * 8];
+    private int size;
+    private int separator = -1;
+    private List<String> unknown;
+
+    ArgumentIndex(List<String> arguments, OptionSchema schema) {
+        this.arguments = arguments;
+        this.schema = schema;
+        this.first = new int[schema.size()];
+        int open = -1;
+        for (int index = 0; index < arguments.size() && separator < 0; index++) {
+            String argument = arguments.get(index);
+            int start = argument.startsWith(END_OF_OPTIONS) ? 2 : 1;
+            int end = argument.length() > start && argument.charAt(0) == '-'
+                    ? nameEnd(argument, start)
+                    : -1;
+            if (argument.equals(END_OF_OPTIONS)) {
+                separator = index;
+            } else if (end > start) {
+                if (open >= 0) {
+                    entries[open + VALUES_END] = index;
+                }
+                open = add(index, argument, start, end);
+            }
+        }
+        if (open >= 0) {
+            entries[open + VALUES_END] = arguments.size();
+        }
+    }
+
+    List<String> values(String option) {
+        int slot = schema.slot(option);
+        int entry = slot < 0 ? -1 : first[slot] - 1;
+        return entry < 0 ? null : values(entry);
+    }
+
+    List<String> unknown() {
+        return unknown == null ? List.of() : unknown;
+    }
+
+    static boolean isFlag(String argument) {
+        return argument.length() >= 2 && argument.charAt(0) == '-'
+                && nameEnd(argument, 1) == argument.length();
+    }
+
+    private static int nameEnd(String argument, int start) {
+        for (int i = start; i < argument.length(); i++) {
+            char c = argument.charAt(i);
+            if (c == '=' && start == 2) {
+                return i;
+            }
+            boolean letter = c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '-';
+            if (!letter && !(i > start && c >= '0' && c <= '9')) {
+                return -1;
+            }
+        }
+        return argument.length();
+    }
+
+    private int add(int index, String argument, int start, int end) {
+        int slot = schema.slot(argument, start, end);
+        if (slot >= 0) {
+            return add(index, end, slot);
+        }
+        if (start == 1 && schema.isCluster(argument)) {
+            int entry = -1;
+            for (int i = 1; i < end; i++) {
+                entry = add(index, i + 1, schema.slot(argument, i, i + 1));
+                entries[entry + VALUES_END] = index + 1;
+            }
+            return entry;
+        }
+        if (unknown == null) {
+            unknown = new ArrayList<>();
+        }
+        unknown.add(argument);
+        return -1;
+    }
+
+    private int add(int index, int nameEnd, int slot) {
+        if ((size + 1) * STRIDE > entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        int entry = size++ * STRIDE;
+        entries[entry + TOKEN] = index;
+        entries[entry + NAME_END] = nameEnd;
+        entries[entry + VALUES_START] = index + 1;
+        if (first[slot] == 0) {
+            first[slot] = entry + 1;
+        }
+        return entry;
+    }
+
+    private List<String> values(int entry) {
+        int start = entries[entry + VALUES_START];
+        int end = entries[entry + VALUES_END];
+        List<String> values = separator >= start && separator < end
+                ? new JoinedList(List.of(arguments.subList(start, separator),
+                arguments.subList(separator + 1, end)))
+                : arguments.subList(start, end);
+        String argument = arguments.get(entries[entry + TOKEN]);
+        int nameEnd = entries[entry + NAME_END];
+        return argument.startsWith(END_OF_OPTIONS) && nameEnd < argument.length()
+                ? new JoinedList(List.of(List.of(argument.substring(nameEnd + 1)), values))
+                : values;
+    }
+}
@@ -0,0 +1,64 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.exceptions.UnknownCommandException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 子命令解析.
+ * 第一个参数选择子命令, 其余参数解析到该子命令的目标对象;
+ * 只有被选中的子命令才会分析目标类型并建立解析计划.
+ */
+public class Commands {
+    private final OptionParserRegistry registry;
+    private final Map<String, Class<?>> commands = new HashMap<>();
+
+    /**
+     * 使用内置的选项类型注册表.
+     */
+    public Commands() {
+        this(OptionParserRegistry.DEFAULT);
+    }
+
+    /**
+     * 使用指定的选项类型注册表.
+     *
+     * @param registry 选项类型注册表
+     */
+    public Commands(OptionParserRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 注册子命令.
+     *
+     * @param name    子命令名
+     * @param options 子命令的目标对象
+     * @return Commands 子命令注册表
+     */
+    public Commands register(String name, Class<?> options) {
+        commands.put(name, options);
+        return this;
+    }
+
+    /**
+     * 按第一个参数选择子命令, 并将其余参数解析到子命令的目标对象.
+     *
+     * @param args 命令行参数
+     * @return Object 子命令的目标对象
+     */
+    public Object parse(String... args) {
+        String name = args.length == 0 ? "" : args[0];
+        Class<?> options = commands.get(name);
+        if (options == null) {
+            throw new UnknownCommandException(name);
+        }
+        return parse(options, Arrays.asList(args).subList(1, args.length));
+    }
+
+    private <T> T parse(Class<T> options, List<String> args) {
+        return new Args<T>(registry).parse(options, args);
+    }
+}
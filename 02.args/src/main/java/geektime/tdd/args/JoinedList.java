@@ -0,0 +1,35 @@
+package geektime.tdd.args;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * 多个列表首尾相接的只读视图, 不复制元素.
+ */
+class JoinedList extends AbstractList<String> implements RandomAccess {
+    private final List<List<String>> segments;
+    private final int size;
+
+    JoinedList(List<List<String>> segments) {
+        this.segments = segments;
+        this.size = segments.stream().mapToInt(List::size).sum();
+    }
+
+    @Override
+    public String get(int index) {
+        Objects.checkIndex(index, size);
+        int segment = 0;
+        int offset = index;
+        while (offset >= segments.get(segment).size()) {
+            offset -= segments.get(segment++).size();
+        }
+        return segments.get(segment).get(offset);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,31 @@
+package geektime.tdd.args;
+
+import java.util.function.Supplier;
+
+/**
+ * 首次访问时才计算的值.
+ * 计算成功后缓存结果, 多个线程同时首次访问时只计算一次; 计算失败不缓存, 下次访问重新计算.
+ */
+class LazyValue<T> implements Supplier<T> {
+    private Supplier<T> supplier;
+    private volatile boolean computed;
+    private T value;
+
+    LazyValue(Supplier<T> supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public T get() {
+        if (!computed) {
+            synchronized (this) {
+                if (!computed) {
+                    value = supplier.get();
+                    supplier = null;
+                    computed = true;
+                }
+            }
+        }
+        return value;
+    }
+}
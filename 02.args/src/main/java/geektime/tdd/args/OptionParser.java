@@ -5,7 +5,27 @@ import java.util.List;
 
 /**
  * 参数解析器接口.
+ * 可通过 {@link OptionParserRegistry#register(Class, OptionParser)} 为自定义类型注册.
  */
-interface OptionParser<T> {
-    T parse(List<String> arguments, Option option);
+public interface OptionParser<T> {
+    /**
+     * 解析选项的值.
+     *
+     * @param values 命令行参数
+     * @param option 选项
+     * @return T 选项的值
+     */
+    T parse(OptionValues values, Option option);
+
+    /**
+     * 解析选项的值.
+     *
+     * @param arguments 命令行参数
+     * @param option    选项
+     * @return T 选项的值
+     */
+    default T parse(List<String> arguments, Option option) {
+        OptionSchema schema = new OptionSchema(List.of(option.value()));
+        return parse(new OptionValues(new ArgumentIndex(arguments, schema), OptionParserRegistry.DEFAULT), option);
+    }
 }
@@ -0,0 +1,171 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.exceptions.IllegalOptionException;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 选项类型注册表.
+ * 按类型查找解析器, 并为每个目标类型缓存一次解析计划; 注册新类型后重新生成解析计划.
+ */
+public final class OptionParserRegistry {
+    private static final OptionParsers PARSERS = new OptionParsers();
+
+    static final OptionParserRegistry DEFAULT = defaults();
+
+    private final Map<Class<?>, OptionParser<?>> parsers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ValueType<?>> valueTypes = new ConcurrentHashMap<>();
+    private volatile ClassValue<Plan<?>> plans = plans();
+
+    /**
+     * 创建包含内置类型的注册表.
+     * 内置类型: boolean, int, long, double, String, Path, Duration, InetSocketAddress,
+     * String[], Integer[], int[], long[], double[], IntStream 以及所有枚举类型;
+     * 单值类型和枚举类型同时可以作为 Stream, Iterator 和 Supplier 的元素类型.
+     *
+     * @return OptionParserRegistry 注册表
+     */
+    public static OptionParserRegistry defaults() {
+        return new OptionParserRegistry()
+                .register(boolean.class, PARSERS.bool())
+                .register(int.class, 0, Integer::parseInt)
+                .register(long.class, 0L, Long::parseLong)
+                .register(double.class, 0d, Double::parseDouble)
+                .register(String.class, "", String::valueOf)
+                .register(Path.class, null, Path::of)
+                .register(Duration.class, Duration.ZERO, Duration::parse)
+                .register(InetSocketAddress.class, null, OptionParserRegistry::address)
+                .register(String[].class, PARSERS.list(String[]::new, String::valueOf))
+                .register(Integer[].class, PARSERS.list(Integer[]::new, Integer::parseInt))
+                .register(int[].class, PARSERS.intList(Integer::parseInt))
+                .register(long[].class, PARSERS.longList(Long::parseLong))
+                .register(double[].class, PARSERS.doubleList(Double::parseDouble))
+                .register(IntStream.class, PARSERS.intStream(Integer::parseInt));
+    }
+
+    /**
+     * 注册选项类型的解析器.
+     *
+     * @param type   选项类型
+     * @param parser 解析器
+     * @return OptionParserRegistry 注册表
+     */
+    public <T> OptionParserRegistry register(Class<T> type, OptionParser<T> parser) {
+        parsers.put(type, parser);
+        plans = plans();
+        return this;
+    }
+
+    /**
+     * 注册单值选项类型, 该类型同时可以作为 Stream, Iterator 和 Supplier 的元素类型;
+     * Supplier 选项在解析时只检查参数个数, 首次访问时才调用值解析函数.
+     *
+     * @param type         选项类型
+     * @param defaultValue 选项不存在时的默认值
+     * @param valueParser  值解析函数
+     * @return OptionParserRegistry 注册表
+     */
+    public <T> OptionParserRegistry register(Class<T> type, T defaultValue, Function<String, T> valueParser) {
+        ValueType<T> valueType = new ValueType<>(defaultValue, valueParser);
+        valueTypes.put(type, valueType);
+        valueTypes.put(MethodType.methodType(type).wrap().returnType(), valueType);
+        return register(type, PARSERS.unary(defaultValue, valueParser));
+    }
+
+    /**
+     * 查找选项类型的解析器, 供生成的解析器在创建时一次性解析所有选项.
+     *
+     * @param type   选项类型
+     * @param option 选项名
+     * @return OptionParser 解析器
+     * @throws IllegalOptionException 选项类型不受支持
+     */
+    public OptionParser<?> resolve(Class<?> type, String option) {
+        OptionParser<?> parser = parser(type);
+        if (parser == null) {
+            throw new IllegalOptionException(option);
+        }
+        return parser;
+    }
+
+    OptionParser<?> parser(Class<?> type) {
+        OptionParser<?> parser = parsers.get(type);
+        if (parser == null && type.isEnum()) {
+            return parsers.computeIfAbsent(type, OptionParserRegistry::enumParser);
+        }
+        return parser;
+    }
+
+    OptionParser<?> parser(Type type) {
+        if (type instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments()[0] instanceof Class<?> element) {
+            ValueType<?> valueType = valueType(element);
+            return valueType == null ? null : container(parameterized.getRawType(), valueType);
+        }
+        return type instanceof Class<?> raw ? parser(raw) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Plan<T> plan(Class<T> type) {
+        return (Plan<T>) plans.get(type);
+    }
+
+    private ClassValue<Plan<?>> plans() {
+        return new ClassValue<>() {
+            @Override
+            protected Plan<?> computeValue(Class<?> type) {
+                ArgsParser<?> parser = ParsePlan.of(type, OptionParserRegistry.this);
+                return new Plan<>(parser, new OptionSchema(parser.options()));
+            }
+        };
+    }
+
+    private ValueType<?> valueType(Class<?> type) {
+        ValueType<?> valueType = valueTypes.get(type);
+        return valueType == null && type.isEnum()
+                ? new ValueType<>(null, enumValueParser(type))
+                : valueType;
+    }
+
+    private static <T> OptionParser<?> container(Type type, ValueType<T> valueType) {
+        if (type == Stream.class) {
+            return PARSERS.stream(valueType.valueParser());
+        }
+        if (type == Supplier.class) {
+            return PARSERS.lazy(valueType.defaultValue(), valueType.valueParser());
+        }
+        return type == Iterator.class ? PARSERS.iterator(valueType.valueParser()) : null;
+    }
+
+    private static OptionParser<?> enumParser(Class<?> type) {
+        return PARSERS.unary(null, enumValueParser(type));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<String, ?> enumValueParser(Class<?> type) {
+        return value -> Enum.valueOf((Class) type, value);
+    }
+
+    private static InetSocketAddress address(String value) {
+        int separator = value.lastIndexOf(':');
+        return InetSocketAddress.createUnresolved(value.substring(0, separator),
+                Integer.parseInt(value.substring(separator + 1)));
+    }
+
+    record Plan<T>(ArgsParser<T> parser, OptionSchema schema) {
+    }
+
+    private record ValueType<T>(T defaultValue, Function<String, T> valueParser) {
+    }
+}
@@ -4,64 +4,162 @@ import geektime.tdd.args.annotation.Option;
 import geektime.tdd.args.exceptions.IllegalValueException;
 import geektime.tdd.args.exceptions.InsufficientArgumentsException;
 import geektime.tdd.args.exceptions.TooManyArgumentsException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 class OptionParsers {
-    private static <T> T parseValue(Option option, String value, Function<String, T> valueParser) {
+    private static final List<String> BOOLEAN_VALUES = List.of("true", "false");
+
+    private static <T> T parseValue(OptionValues arguments, Option option, String value,
+                                    Function<String, T> valueParser) {
         try {
             return valueParser.apply(value);
         } catch (Exception e) {
-            throw new IllegalValueException(option.value(), value);
+            throw illegalValue(arguments, option, value);
         }
     }
 
-    private static Optional<List<String>> values(List<String> arguments, Option option) {
-        int index = arguments.indexOf("-" + option.value());
-        return Optional.ofNullable(index == -1 ? null : values(arguments, index));
+    private static boolean parseBoolean(String value) {
+        if (!BOOLEAN_VALUES.contains(value)) {
+            throw new IllegalArgumentException(value);
+        }
+        return Boolean.parseBoolean(value);
     }
 
-    private static Optional<List<String>> values(List<String> arguments,
-                                                 Option option,
-                                                 int expectedSize) {
-        return values(arguments, option).map(it -> checkSize(it, option, expectedSize));
+    private static int parseInt(OptionValues arguments, Option option, String value,
+                                ToIntFunction<String> valueParser) {
+        try {
+            return valueParser.applyAsInt(value);
+        } catch (Exception e) {
+            throw illegalValue(arguments, option, value);
+        }
+    }
+
+    private static <A> OptionParser<A> primitiveList(IntFunction<A> generator, Element<A> element) {
+        return (arguments, option) -> {
+            List<String> values = arguments.elements(option.value());
+            int size = values == null ? 0 : values.size();
+            A result = generator.apply(size);
+            for (int i = 0; i < size; i++) {
+                try {
+                    element.set(result, i, values.get(i));
+                } catch (Exception e) {
+                    throw illegalValue(arguments, option, values.get(i));
+                }
+            }
+            return result;
+        };
     }
 
-    private static List<String> values(List<String> arguments, int index) {
-        int following = IntStream.range(index + 1, arguments.size())
-                .filter(it -> arguments.get(it).matches("^-[a-zA-Z-]+$"))
-                .findFirst()
-                .orElse(arguments.size());
-        return arguments.subList(index + 1, following);
+    private static IllegalValueException illegalValue(OptionValues arguments, Option option,
+                                                      String value) {
+        return new IllegalValueException(option.value(), value, arguments.writableStackTrace());
+    }
+
+    private static Optional<List<String>> values(OptionValues arguments, Option option) {
+        return Optional.ofNullable(arguments.values(option.value()));
+    }
+
+    private static Optional<List<String>> elements(OptionValues arguments, Option option) {
+        return Optional.ofNullable(arguments.elements(option.value()));
+    }
+
+    private static Optional<List<String>> values(OptionValues arguments,
+                                                 Option option,
+                                                 int expectedSize) {
+        return values(arguments, option).map(it -> checkSize(arguments, it, option, expectedSize));
     }
 
-    private static List<String> checkSize(List<String> values, Option option, int expectedSize) {
+    private static List<String> checkSize(OptionValues arguments,
+                                          List<String> values,
+                                          Option option,
+                                          int expectedSize) {
         if (values.size() < expectedSize) {
-            throw new InsufficientArgumentsException(option.value());
+            throw new InsufficientArgumentsException(option.value(),
+                    arguments.writableStackTrace());
         }
         if (values.size() > expectedSize) {
-            throw new TooManyArgumentsException(option.value());
+            throw new TooManyArgumentsException(option.value(), arguments.writableStackTrace());
         }
         return values;
     }
 
     public OptionParser<Boolean> bool() {
-        return (arguments, option) -> values(arguments, option, 0).isPresent();
+        return (arguments, option) -> {
+            List<String> values = arguments.commandLine(option.value());
+            if (values != null) {
+                return checkSize(arguments, values, option, 0).isEmpty();
+            }
+            String value = arguments.source(option.value());
+            return value != null
+                    && parseValue(arguments, option, value.trim(), OptionParsers::parseBoolean);
+        };
     }
 
     public <T> OptionParser<T> unary(T defaultValue, Function<String, T> valueParser) {
         return (arguments, option) -> values(arguments, option, 1)
-                .map(it -> parseValue(option, it.get(0), valueParser))
+                .map(it -> parseValue(arguments, option, it.get(0), valueParser))
                 .orElse(defaultValue);
     }
 
+    public <T> OptionParser<Supplier<T>> lazy(T defaultValue, Function<String, T> valueParser) {
+        return (arguments, option) -> values(arguments, option, 1)
+                .map(it -> it.get(0))
+                .<Supplier<T>>map(value -> new LazyValue<>(
+                        () -> parseValue(arguments, option, value, valueParser)))
+                .orElse(() -> defaultValue);
+    }
+
     public <T> OptionParser<T[]> list(IntFunction<T[]> generator, Function<String, T> valueParser) {
-        return (arguments, option) -> values(arguments, option)
-                .map(it -> it.stream().map(v -> parseValue(option, v, valueParser)).toArray(generator))
+        return (arguments, option) -> elements(arguments, option)
+                .map(it -> it.stream().map(v -> parseValue(arguments, option, v, valueParser))
+                        .toArray(generator))
                 .orElse(generator.apply(0));
     }
 
+    public OptionParser<int[]> intList(ToIntFunction<String> valueParser) {
+        return primitiveList(int[]::new, (array, i, value) -> array[i] = valueParser.applyAsInt(value));
+    }
+
+    public OptionParser<long[]> longList(ToLongFunction<String> valueParser) {
+        return primitiveList(long[]::new, (array, i, value) -> array[i] = valueParser.applyAsLong(value));
+    }
+
+    public OptionParser<double[]> doubleList(ToDoubleFunction<String> valueParser) {
+        return primitiveList(double[]::new, (array, i, value) -> array[i] = valueParser.applyAsDouble(value));
+    }
+
+    public <T> OptionParser<Stream<T>> stream(Function<String, T> valueParser) {
+        return (arguments, option) -> elements(arguments, option)
+                .map(it -> it.stream().map(v -> parseValue(arguments, option, v, valueParser)))
+                .orElseGet(Stream::empty);
+    }
+
+    public <T> OptionParser<Iterator<T>> iterator(Function<String, T> valueParser) {
+        OptionParser<Stream<T>> stream = stream(valueParser);
+        return (arguments, option) -> stream.parse(arguments, option).iterator();
+    }
+
+    public OptionParser<IntStream> intStream(ToIntFunction<String> valueParser) {
+        return (arguments, option) -> elements(arguments, option)
+                .map(it -> it.stream().mapToInt(v -> parseInt(arguments, option, v, valueParser)))
+                .orElseGet(IntStream::empty);
+    }
+
+    /**
+     * 将参数解析后写入基本类型数组, 不装箱.
+     */
+    @FunctionalInterface
+    private interface Element<A> {
+        void set(A array, int index, String value);
+    }
 }
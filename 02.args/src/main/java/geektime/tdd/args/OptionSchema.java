@@ -0,0 +1,90 @@
+package geektime.tdd.args;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+/**
+ * 选项名索引.
+ * 每个目标类型只构建一次的完美哈希表: 调整哈希种子和表长, 直到所有选项名落在不同的槽位;
+ * 查找时只需一次哈希和一次比较, 并且直接比较参数中的名称区间, 不截取子串.
+ * 尝试次数有上限, 超过上限时退回到 HashMap 查找.
+ */
+final class OptionSchema {
+    static final int MAX_ATTEMPTS = 64;
+
+    private final String[] names;
+    private final Map<String, Integer> fallback;
+    private int[] table;
+    private int multiplier;
+    private int shift;
+
+    OptionSchema(Collection<String> names) {
+        this.names = new LinkedHashSet<>(names).toArray(String[]::new);
+        int bits = 32 - Integer.numberOfLeadingZeros(Math.max(this.names.length * 2 - 1, 1));
+        int attempt = 0;
+        while (attempt < MAX_ATTEMPTS && !fill(bits + attempt / 8, 31 + 2 * attempt)) {
+            attempt++;
+        }
+        this.fallback = table == null ? fallback(this.names) : null;
+    }
+
+    int size() {
+        return names.length;
+    }
+
+    int slot(String name) {
+        return slot(name, 0, name.length());
+    }
+
+    int slot(String text, int start, int end) {
+        if (fallback != null) {
+            return fallback.getOrDefault(text.substring(start, end), -1);
+        }
+        int slot = table[bucket(text, start, end, multiplier, shift)] - 1;
+        return slot >= 0 && names[slot].length() == end - start
+                && text.regionMatches(start, names[slot], 0, end - start) ? slot : -1;
+    }
+
+    boolean isCluster(String argument) {
+        for (int i = 1; i < argument.length(); i++) {
+            if (slot(argument, i, i + 1) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, Integer> fallback(String[] names) {
+        Map<String, Integer> slots = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            slots.put(names[i], i);
+        }
+        return slots;
+    }
+
+    private boolean fill(int bits, int multiplier) {
+        int shift = 32 - bits;
+        int[] table = new int[1 << bits];
+        for (int i = 0; i < names.length; i++) {
+            int bucket = bucket(names[i], 0, names[i].length(), multiplier, shift);
+            if (table[bucket] != 0) {
+                return false;
+            }
+            table[bucket] = i + 1;
+        }
+        this.table = table;
+        this.multiplier = multiplier;
+        this.shift = shift;
+        return true;
+    }
+
+    private static int bucket(String text, int start, int end, int multiplier, int shift) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = multiplier * hash + text.charAt(i);
+        }
+        return (hash * 0x9E3779B9) >>> shift;
+    }
+}
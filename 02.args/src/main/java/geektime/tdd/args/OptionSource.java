@@ -0,0 +1,53 @@
+package geektime.tdd.args;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 命令行之外的选项来源.
+ * 命令行中没有的选项依次从各个来源取值; 单值选项使用完整的值, 列表等多值选项的值按空白分隔为参数;
+ * 布尔选项的值为 true 或 false, 命令行中的布尔选项仍然不接受参数.
+ */
+public interface OptionSource {
+    /**
+     * 选项的值.
+     *
+     * @param option 选项名
+     * @return String 选项的值, 没有时返回 null
+     */
+    String value(String option);
+
+    /**
+     * 环境变量来源, 变量名为前缀加上大写的选项名, 选项名中的 - 替换为 _.
+     * 例如前缀为 APP_ 时, 选项 log-level 对应环境变量 APP_LOG_LEVEL.
+     *
+     * @param prefix 变量名前缀
+     * @return OptionSource 选项来源
+     */
+    static OptionSource environment(String prefix) {
+        return environment(prefix, System.getenv());
+    }
+
+    /**
+     * 从给定变量表取值的环境变量来源, 变量名规则与 {@link #environment(String)} 相同.
+     *
+     * @param prefix    变量名前缀
+     * @param variables 变量表
+     * @return OptionSource 选项来源
+     */
+    static OptionSource environment(String prefix, Map<String, String> variables) {
+        return option -> variables.get(prefix + option.toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+
+    /**
+     * 属性文件来源, 属性名即选项名.
+     * 文件只在修改时间变化时重新读取, 并且每秒最多检查一次修改时间; 文件不存在时没有任何选项.
+     *
+     * @param file 属性文件
+     * @return OptionSource 选项来源
+     */
+    static OptionSource properties(Path file) {
+        return new PropertiesSource(file);
+    }
+}
@@ -0,0 +1,173 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 已索引的命令行参数, 按选项类型使用注册的解析器取值; 命令行中没有的选项依次从其他来源取值.
+ * 收集错误时, 解析失败的选项记录错误并使用类型的零值, 异常不记录调用栈;
+ * 在解析会话中, 参数与上次相同的选项直接使用上次的结果, 数组结果每次返回副本.
+ */
+public final class OptionValues {
+    private final ArgumentIndex arguments;
+    private final OptionParserRegistry registry;
+    private final List<Exception> errors;
+    private final List<OptionSource> sources;
+    private final Map<String, ParseSession.Outcome> outcomes;
+
+    OptionValues(ArgumentIndex arguments, OptionParserRegistry registry) {
+        this(arguments, registry, null, List.of());
+    }
+
+    OptionValues(ArgumentIndex arguments, OptionParserRegistry registry, List<Exception> errors) {
+        this(arguments, registry, errors, List.of());
+    }
+
+    OptionValues(ArgumentIndex arguments, OptionParserRegistry registry, List<Exception> errors,
+                 List<OptionSource> sources) {
+        this(arguments, registry, errors, sources, null);
+    }
+
+    OptionValues(ArgumentIndex arguments, OptionParserRegistry registry, List<Exception> errors,
+                 List<OptionSource> sources, Map<String, ParseSession.Outcome> outcomes) {
+        this.arguments = arguments;
+        this.registry = registry;
+        this.errors = errors;
+        this.sources = sources;
+        this.outcomes = outcomes;
+    }
+
+    /**
+     * 解析选项的值.
+     *
+     * @param type   选项类型
+     * @param option 选项名
+     * @return V 选项的值
+     */
+    public <V> V get(Class<V> type, String option) {
+        return get(registry.resolve(type, option), type, option);
+    }
+
+    /**
+     * 使用已查找到的解析器解析选项的值.
+     *
+     * @param parser 选项类型的解析器
+     * @param type   选项类型
+     * @param option 选项名
+     * @return V 选项的值
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(OptionParser<?> parser, Class<V> type, String option) {
+        return (V) parse(parser, new OptionLiteral(option), type);
+    }
+
+    /**
+     * 选项标志之后的原始参数, 命令行中没有时使用其他来源的完整值作为唯一的参数.
+     *
+     * @param option 选项名
+     * @return List 选项的参数, 选项不存在时返回 null
+     */
+    public List<String> values(String option) {
+        List<String> values = arguments.values(option);
+        if (values != null) {
+            return values;
+        }
+        String value = source(option);
+        return value == null ? null : List.of(value);
+    }
+
+    /**
+     * 多值选项的参数, 命令行中没有时使用其他来源的值按空白分隔后的参数.
+     *
+     * @param option 选项名
+     * @return List 选项的参数, 选项不存在时返回 null
+     */
+    public List<String> elements(String option) {
+        List<String> values = arguments.values(option);
+        if (values != null) {
+            return values;
+        }
+        String value = source(option);
+        return value == null ? null : List.of(value.trim().split("\\s+"));
+    }
+
+    List<String> commandLine(String option) {
+        return arguments.values(option);
+    }
+
+    String source(String option) {
+        String value = null;
+        for (int i = 0; value == null && i < sources.size(); i++) {
+            value = sources.get(i).value(option);
+        }
+        return value;
+    }
+
+    Object parse(OptionParser<?> parser, Option option, Class<?> type) {
+        if (errors == null) {
+            return parser.parse(this, option);
+        }
+        if (outcomes == null || !ParseSession.reusable(type)) {
+            ParseSession.Outcome outcome = outcome(parser, option, type, null);
+            return record(outcome);
+        }
+        List<String> values = values(option.value());
+        List<String> snapshot = values == null ? null : List.copyOf(values);
+        ParseSession.Outcome outcome = outcomes.get(option.value());
+        if (outcome == null || !Objects.equals(outcome.values(), snapshot)) {
+            outcome = outcome(parser, option, type, snapshot);
+            outcomes.put(option.value(), outcome);
+        }
+        return copy(record(outcome));
+    }
+
+    private static Object copy(Object value) {
+        if (value == null || !value.getClass().isArray()) {
+            return value;
+        }
+        int length = Array.getLength(value);
+        Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+        System.arraycopy(value, 0, copy, 0, length);
+        return copy;
+    }
+
+    private ParseSession.Outcome outcome(OptionParser<?> parser, Option option, Class<?> type,
+                                         List<String> values) {
+        try {
+            return new ParseSession.Outcome(values, parser.parse(this, option), null);
+        } catch (RuntimeException e) {
+            return new ParseSession.Outcome(values, Array.get(Array.newInstance(type, 1), 0), e);
+        }
+    }
+
+    private Object record(ParseSession.Outcome outcome) {
+        if (outcome.error() != null) {
+            errors.add(outcome.error());
+        }
+        return outcome.value();
+    }
+
+    /**
+     * 收集错误模式下是否已有选项解析失败, 此时不应再创建选项对象.
+     *
+     * @return boolean 是否已有选项解析失败
+     */
+    public boolean failed() {
+        return errors != null && !errors.isEmpty();
+    }
+
+    boolean writableStackTrace() {
+        return errors == null;
+    }
+
+    private record OptionLiteral(String value) implements Option {
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Option.class;
+        }
+    }
+}
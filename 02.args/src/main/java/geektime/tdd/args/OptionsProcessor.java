@@ -0,0 +1,161 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * 注解处理器.
+ * 编译时为反射解析同样会绑定的构造器生成 {@link ArgsParser}, 使 {@link Args} 解析时无需反射.
+ */
+@SupportedAnnotationTypes("geektime.tdd.args.annotation.Option")
+public class OptionsProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        Set<TypeElement> types = new LinkedHashSet<>();
+        for (Element element : round.getElementsAnnotatedWith(Option.class)) {
+            Element enclosing = element.getEnclosingElement();
+            if (element.getKind() == ElementKind.RECORD_COMPONENT) {
+                types.add((TypeElement) enclosing);
+            } else if (enclosing.getKind() == ElementKind.CONSTRUCTOR) {
+                types.add((TypeElement) enclosing.getEnclosingElement());
+            }
+        }
+        for (TypeElement type : types) {
+            List<ExecutableElement> candidates = ParsePlan.candidates(type.getKind() == ElementKind.RECORD,
+                    ElementFilter.constructorsIn(type.getEnclosedElements()),
+                    constructor -> isCanonical(type, constructor),
+                    constructor -> !constructor.getParameters().isEmpty() && constructor.getParameters()
+                            .stream().allMatch(p -> p.getAnnotation(Option.class) != null));
+            if (candidates.size() == 1 && isGenerable(candidates.get(0))) {
+                generate(candidates.get(0));
+            }
+        }
+        return false;
+    }
+
+    private boolean isCanonical(TypeElement type, ExecutableElement constructor) {
+        List<? extends RecordComponentElement> components = type.getRecordComponents();
+        List<? extends VariableElement> parameters = constructor.getParameters();
+        return parameters.size() == components.size() && IntStream.range(0, parameters.size())
+                .allMatch(i -> processingEnv.getTypeUtils()
+                        .isSameType(components.get(i).asType(), parameters.get(i).asType()));
+    }
+
+    private static boolean isGenerable(ExecutableElement constructor) {
+        return !constructor.getModifiers().contains(Modifier.PRIVATE)
+                && constructor.getParameters().stream().allMatch(p -> p.getAnnotation(Option.class) != null)
+                && constructor.getParameters().stream().noneMatch(p -> isParameterized(p.asType()))
+                && isAccessible((TypeElement) constructor.getEnclosingElement());
+    }
+
+    private static boolean isParameterized(TypeMirror type) {
+        return type instanceof DeclaredType declared && !declared.getTypeArguments().isEmpty();
+    }
+
+    private static boolean isAccessible(TypeElement type) {
+        if (type.getNestingKind() == NestingKind.TOP_LEVEL) {
+            return true;
+        }
+        return !type.getModifiers().contains(Modifier.PRIVATE)
+                && type.getModifiers().contains(Modifier.STATIC)
+                && isAccessible((TypeElement) type.getEnclosingElement());
+    }
+
+    private void generate(ExecutableElement constructor) {
+        TypeElement type = (TypeElement) constructor.getEnclosingElement();
+        String name = ParsePlan.generatedName(processingEnv.getElementUtils().getBinaryName(type).toString());
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String simpleName = name.substring(name.lastIndexOf('.') + 1);
+        String target = type.getQualifiedName().toString();
+        try (PrintWriter writer = new PrintWriter(
+                processingEnv.getFiler().createSourceFile(name, type).openWriter())) {
+            if (!packageName.isEmpty()) {
+                writer.println("package " + packageName + ";");
+                writer.println();
+            }
+            writer.println("public final class " + simpleName
+                    + " implements geektime.tdd.args.ArgsParser<" + target + "> {");
+            writer.println("    private final geektime.tdd.args.OptionParser<?>[] parsers;");
+            writer.println();
+            writer.println("    public " + simpleName + "(geektime.tdd.args.OptionParserRegistry registry) {");
+            writer.println("        this.parsers = new geektime.tdd.args.OptionParser<?>[]{"
+                    + parsers(constructor.getParameters()) + "};");
+            writer.println("    }");
+            writer.println();
+            writer.println("    @Override");
+            writer.println("    public " + target + " parse(geektime.tdd.args.OptionValues values) {");
+            List<? extends VariableElement> parameters = constructor.getParameters();
+            for (int i = 0; i < parameters.size(); i++) {
+                writer.println("        var value" + i + " = values.get(parsers[" + i + "], "
+                        + type(parameters.get(i)) + ", " + option(parameters.get(i)) + ");");
+            }
+            writer.println("        if (values.failed()) {");
+            writer.println("            return null;");
+            writer.println("        }");
+            writer.println("        return new " + target + "(" + arguments(parameters.size()) + ");");
+            writer.println("    }");
+            writer.println();
+            writer.println("    @Override");
+            writer.println("    public java.util.List<String> options() {");
+            writer.println("        return java.util.List.of(" + names(constructor.getParameters()) + ");");
+            writer.println("    }");
+            writer.println("}");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), type);
+        }
+    }
+
+    private String parsers(List<? extends VariableElement> parameters) {
+        return parameters.stream()
+                .map(p -> "\n                registry.resolve(" + type(p) + ", " + option(p) + ")")
+                .collect(Collectors.joining(","));
+    }
+
+    private static String arguments(int size) {
+        return IntStream.range(0, size).mapToObj(i -> "value" + i).collect(Collectors.joining(", "));
+    }
+
+    private String type(VariableElement parameter) {
+        return processingEnv.getTypeUtils().erasure(parameter.asType()) + ".class";
+    }
+
+    private static String option(VariableElement parameter) {
+        return literal(parameter.getAnnotation(Option.class).value());
+    }
+
+    private static String names(List<? extends VariableElement> parameters) {
+        return parameters.stream().map(OptionsProcessor::option).collect(Collectors.joining(", "));
+    }
+
+    private static String literal(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,150 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exceptions.IllegalOptionException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 解析计划.
+ * 每个目标类型在每个注册表中只分析一次: 优先使用注解处理器生成的解析器,
+ * 否则通过反射分析构造器, 之后的解析直接使用缓存的解析器和构造器句柄.
+ * 记录类型绑定到规范构造器并读取记录组件上的注解, 其他类型绑定到唯一一个所有参数都带有 @Option 的构造器;
+ * 注解处理器使用同样的规则选择构造器.
+ */
+class ParsePlan<T> implements ArgsParser<T> {
+    static final String GENERATED_SUFFIX = "_ArgsParser";
+
+    private final OptionParser<?>[] parsers;
+    private final Option[] options;
+    private final Class<?>[] types;
+    private final List<String> names;
+    private final MethodHandle constructor;
+
+    private ParsePlan(Class<T> type, OptionParserRegistry registry) {
+        RecordComponent[] components = type.getRecordComponents();
+        Constructor<?> constructor = constructor(type, components);
+        Slot[] slots = components != null
+                ? Arrays.stream(components).map(Slot::of).toArray(Slot[]::new)
+                : Arrays.stream(constructor.getParameters()).map(Slot::of).toArray(Slot[]::new);
+        this.parsers = new OptionParser<?>[slots.length];
+        this.options = new Option[slots.length];
+        this.types = constructor.getParameterTypes();
+        for (int i = 0; i < slots.length; i++) {
+            options[i] = slots[i].option();
+            parsers[i] = registry.parser(slots[i].type());
+            if (options[i] == null || parsers[i] == null) {
+                throw new IllegalOptionException(slots[i].name());
+            }
+        }
+        this.names = Arrays.stream(options).map(Option::value).toList();
+        this.constructor = constructorOf(constructor);
+    }
+
+    static ArgsParser<?> of(Class<?> type, OptionParserRegistry registry) {
+        ArgsParser<?> generated = generated(type, registry);
+        return generated != null ? generated : new ParsePlan<>(type, registry);
+    }
+
+    static String generatedName(String binaryName) {
+        return binaryName + GENERATED_SUFFIX;
+    }
+
+    /**
+     * 可以绑定的构造器: 记录类型为规范构造器, 其他类型为参数全部带有 @Option 的构造器.
+     * 反射和注解处理器共用这一规则, 只有唯一的候选时才绑定.
+     *
+     * @param record       是否为记录类型
+     * @param constructors 全部构造器
+     * @param canonical    是否为规范构造器
+     * @param annotated    参数是否全部带有 @Option
+     * @return List 候选构造器
+     */
+    static <C> List<C> candidates(boolean record, List<C> constructors,
+                                  Predicate<C> canonical, Predicate<C> annotated) {
+        return constructors.stream().filter(record ? canonical : annotated).toList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T parse(OptionValues values) {
+        Object[] arguments = new Object[parsers.length];
+        for (int i = 0; i < parsers.length; i++) {
+            arguments[i] = values.parse(parsers[i], options[i], types[i]);
+        }
+        if (values.failed()) {
+            return null;
+        }
+        try {
+            return (T) constructor.invokeExact(arguments);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public List<String> options() {
+        return names;
+    }
+
+    private static ArgsParser<?> generated(Class<?> type, OptionParserRegistry registry) {
+        try {
+            Class<?> parser = Class.forName(generatedName(type.getName()), true, type.getClassLoader());
+            return (ArgsParser<?>) parser.getDeclaredConstructor(OptionParserRegistry.class).newInstance(registry);
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Constructor<?> constructor(Class<?> type, RecordComponent[] components) {
+        Constructor<?>[] constructors = type.getDeclaredConstructors();
+        List<Constructor<?>> candidates = candidates(components != null, List.of(constructors),
+                constructor -> Arrays.equals(constructor.getParameterTypes(), Arrays.stream(components)
+                        .map(RecordComponent::getType).toArray(Class<?>[]::new)),
+                constructor -> constructor.getParameterCount() > 0
+                        && Arrays.stream(constructor.getParameters())
+                        .allMatch(parameter -> parameter.isAnnotationPresent(Option.class)));
+        if (candidates.size() > 1) {
+            throw new IllegalOptionException(type.getName());
+        }
+        return candidates.isEmpty() ? constructors[0] : candidates.get(0);
+    }
+
+    private static MethodHandle constructorOf(Constructor<?> constructor) {
+        try {
+            return MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private record Slot(String name, Option option, Type type) {
+        static Slot of(RecordComponent component) {
+            return new Slot(component.getName(), component.getAnnotation(Option.class),
+                    component.getGenericType());
+        }
+
+        static Slot of(Parameter parameter) {
+            return new Slot(parameter.getName(), parameter.getAnnotation(Option.class),
+                    parameter.getParameterizedType());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package geektime.tdd.args;
+
+import java.util.List;
+
+/**
+ * 不抛出异常的解析结果.
+ *
+ * @param value  目标对象, 解析失败时为 null
+ * @param errors 解析过程中收集的全部错误
+ */
+public record ParseResult<T>(T value, List<Exception> errors) {
+
+    /**
+     * 是否解析成功.
+     *
+     * @return boolean 没有错误时返回 true
+     */
+    public boolean isSuccess() {
+        return errors.isEmpty();
+    }
+}
@@ -0,0 +1,73 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.exceptions.UnknownOptionException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.BaseStream;
+
+/**
+ * 增量解析会话, 适用于交互式环境中对不断编辑的命令行反复解析.
+ * 每次更新重新索引参数, 只重新解析参数发生变化的选项, 其余选项沿用上次的值或错误;
+ * Stream 和 Iterator 只能消费一次, 这类选项每次都重新解析.
+ * 会话不是线程安全的.
+ */
+public final class ParseSession<T> {
+    private final Args<T> args;
+    private final Class<T> options;
+    private final Map<String, Outcome> outcomes = new LinkedHashMap<>();
+    private Map<String, Exception> diagnostics = Map.of();
+
+    ParseSession(Args<T> args, Class<T> options) {
+        this.args = args;
+        this.options = options;
+    }
+
+    /**
+     * 解析编辑后的命令行参数, 不抛出异常.
+     *
+     * @param arguments 命令行参数
+     * @return ParseResult 解析结果
+     */
+    public ParseResult<T> update(String... arguments) {
+        ParseResult<T> result = args.tryParse(options, arguments, outcomes);
+        Map<String, Exception> diagnostics = new LinkedHashMap<>();
+        outcomes.forEach((option, outcome) -> {
+            if (outcome.error() != null) {
+                diagnostics.put(option, outcome.error());
+            }
+        });
+        for (Exception error : result.errors()) {
+            if (error instanceof UnknownOptionException unknown) {
+                diagnostics.put(unknown.getOption(), error);
+            }
+        }
+        this.diagnostics = Collections.unmodifiableMap(diagnostics);
+        return result;
+    }
+
+    /**
+     * 最近一次更新中每个选项的错误, 未知选项以命令行中的标志为键.
+     *
+     * @return Map 选项名到错误的映射, 没有错误的选项不出现
+     */
+    public Map<String, Exception> diagnostics() {
+        return diagnostics;
+    }
+
+    static boolean reusable(Class<?> type) {
+        return !BaseStream.class.isAssignableFrom(type) && !Iterator.class.isAssignableFrom(type);
+    }
+
+    /**
+     * 选项上次解析时的参数和结果.
+     *
+     * @param values 选项的参数, 选项不存在时为 null
+     * @param value  解析出的值, 失败时为类型的零值
+     * @param error  解析错误, 成功时为 null
+     */
+    record Outcome(List<String> values, Object value, RuntimeException error) {
+    }
+}
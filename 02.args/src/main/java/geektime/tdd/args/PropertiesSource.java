@@ -0,0 +1,81 @@
+package geektime.tdd.args;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * 属性文件来源.
+ * 按修改时间缓存读取结果, 同一进程中重复解析不会重新读取未修改的文件;
+ * 修改时间在检查间隔内只读取一次, 一次解析中的多次查找共用同一份属性.
+ */
+class PropertiesSource implements OptionSource {
+    static final Duration CHECK_INTERVAL = Duration.ofSeconds(1);
+
+    private final Path file;
+    private final long interval;
+    private volatile Snapshot snapshot;
+
+    PropertiesSource(Path file) {
+        this(file, CHECK_INTERVAL);
+    }
+
+    PropertiesSource(Path file, Duration interval) {
+        this.file = file;
+        this.interval = interval.toNanos();
+    }
+
+    @Override
+    public String value(String option) {
+        Snapshot current = snapshot;
+        long now = System.nanoTime();
+        if (current == null || now - current.checked() >= interval) {
+            current = refresh(current, now);
+        }
+        return current.properties().getProperty(option);
+    }
+
+    private Snapshot refresh(Snapshot current, long now) {
+        try {
+            FileTime modified = modified();
+            Properties properties = current != null && Objects.equals(modified, current.modified())
+                    ? current.properties()
+                    : load(modified);
+            Snapshot refreshed = new Snapshot(modified, properties, now);
+            snapshot = refreshed;
+            return refreshed;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private FileTime modified() throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return attributes.isRegularFile() ? attributes.lastModifiedTime() : null;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private Properties load(FileTime modified) throws IOException {
+        Properties properties = new Properties();
+        if (modified != null) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                properties.load(reader);
+            }
+        }
+        return properties;
+    }
+
+    private record Snapshot(FileTime modified, Properties properties, long checked) {
+    }
+}
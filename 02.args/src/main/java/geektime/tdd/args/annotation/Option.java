@@ -8,8 +8,9 @@ import java.lang.annotation.Target;
 /**
  * 命令行参数注解.
  * 用于修饰需要绑定的命令行参数,例如, -p 8080 会被绑定到被 @Option("p")修饰的字段上.
+ * 可用于构造器参数或记录组件.
  */
-@Target({ElementType.PARAMETER})
+@Target({ElementType.PARAMETER, ElementType.RECORD_COMPONENT})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Option {
     /**
@@ -1,7 +1,7 @@
 package geektime.tdd.args.exceptions;
 
 /**
- * 当Option中的字段没有注解时，抛出此异常.
+ * 当Option中的字段没有注解或类型不受支持时，抛出此异常.
  */
 public class IllegalOptionException extends RuntimeException {
     String parameter;
@@ -12,6 +12,19 @@ public class IllegalValueException extends RuntimeException {
         this.value = value;
     }
 
+    /**
+     * 创建可以不记录调用栈的异常, 用于收集错误而不抛出的解析.
+     *
+     * @param option 选项名
+     * @param value 无法解析的值
+     * @param writableStackTrace 是否记录调用栈
+     */
+    public IllegalValueException(String option, String value, boolean writableStackTrace) {
+        super(null, null, false, writableStackTrace);
+        this.option = option;
+        this.value = value;
+    }
+
     public String getOption() {
         return option;
     }
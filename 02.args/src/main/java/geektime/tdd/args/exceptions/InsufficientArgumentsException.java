@@ -10,6 +10,17 @@ public class InsufficientArgumentsException extends RuntimeException {
         this.option = option;
     }
 
+    /**
+     * 创建可以不记录调用栈的异常, 用于收集错误而不抛出的解析.
+     *
+     * @param option 选项名
+     * @param writableStackTrace 是否记录调用栈
+     */
+    public InsufficientArgumentsException(String option, boolean writableStackTrace) {
+        super(null, null, false, writableStackTrace);
+        this.option = option;
+    }
+
     public String getOption() {
         return option;
     }
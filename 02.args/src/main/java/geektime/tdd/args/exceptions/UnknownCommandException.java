@@ -0,0 +1,16 @@
+package geektime.tdd.args.exceptions;
+
+/**
+ * 命令行参数中的子命令没有注册时抛出.
+ */
+public class UnknownCommandException extends RuntimeException {
+    String command;
+
+    public UnknownCommandException(String command) {
+        this.command = command;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+}
@@ -0,0 +1,23 @@
+package geektime.tdd.args.exceptions;
+
+/**
+ * 命令行参数中出现目标对象没有的选项时, 由收集错误的解析报告.
+ */
+public class UnknownOptionException extends RuntimeException {
+    String option;
+
+    /**
+     * 创建可以不记录调用栈的异常.
+     *
+     * @param option             未知的选项标志
+     * @param writableStackTrace 是否记录调用栈
+     */
+    public UnknownOptionException(String option, boolean writableStackTrace) {
+        super(null, null, false, writableStackTrace);
+        this.option = option;
+    }
+
+    public String getOption() {
+        return option;
+    }
+}
@@ -0,0 +1,18 @@
+package geektime.tdd.args;
+
+import java.util.List;
+
+public class ArgsTest$BrokenOptions_ArgsParser implements ArgsParser<ArgsTest.BrokenOptions> {
+    public ArgsTest$BrokenOptions_ArgsParser(String unexpected) {
+    }
+
+    @Override
+    public ArgsTest.BrokenOptions parse(OptionValues values) {
+        return null;
+    }
+
+    @Override
+    public List<String> options() {
+        return List.of();
+    }
+}
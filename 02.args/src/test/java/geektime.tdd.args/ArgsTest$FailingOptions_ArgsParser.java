@@ -0,0 +1,20 @@
+package geektime.tdd.args;
+
+import java.io.IOException;
+import java.util.List;
+
+public class ArgsTest$FailingOptions_ArgsParser implements ArgsParser<ArgsTest.FailingOptions> {
+    public ArgsTest$FailingOptions_ArgsParser(OptionParserRegistry registry) throws IOException {
+        throw new IOException("failed");
+    }
+
+    @Override
+    public ArgsTest.FailingOptions parse(OptionValues values) {
+        return null;
+    }
+
+    @Override
+    public List<String> options() {
+        return List.of();
+    }
+}
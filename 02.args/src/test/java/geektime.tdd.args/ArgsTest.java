@@ -2,7 +2,16 @@ package geektime.tdd.args;
 
 import geektime.tdd.args.annotation.Option;
 import geektime.tdd.args.exceptions.IllegalOptionException;
+import geektime.tdd.args.exceptions.IllegalValueException;
+import geektime.tdd.args.exceptions.InsufficientArgumentsException;
+import geektime.tdd.args.exceptions.TooManyArgumentsException;
+import geektime.tdd.args.exceptions.UnknownOptionException;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ArgsTest {
@@ -36,6 +45,16 @@ public class ArgsTest {
         assertArrayEquals(new Integer[]{1, 2, -3, 5}, option.decimals());
     }
 
+    @Test
+    public void should_parse_primitive_list_options() {
+        Args<PrimitiveListOptions> args = new Args<>();
+        PrimitiveListOptions option = args.parse(PrimitiveListOptions.class,
+                "-i", "1", "-2", "-l", "3000000000", "-d", "0.5", "-1.5");
+        assertArrayEquals(new int[]{1, -2}, option.ids());
+        assertArrayEquals(new long[]{3000000000L}, option.longs());
+        assertArrayEquals(new double[]{0.5, -1.5}, option.doubles());
+    }
+
     @Test
     public void should_throw_runtime_exception_if_cannot_parse_to_expected_option() {
         Args<ListOptions> args = new Args<>();
@@ -43,6 +62,213 @@ public class ArgsTest {
                 () -> args.parse(ListOptions.class, "-l", "-p", "8080", "-d", "/usr/logs"));
     }
 
+    @Test
+    public void should_throw_illegal_option_exception_if_option_type_not_supported() {
+        IllegalOptionException e = assertThrows(IllegalOptionException.class,
+                () -> new Args<UnsupportedOptions>().parse(UnsupportedOptions.class, "-t", "1"));
+        assertEquals("timeout", e.getParameter());
+    }
+
+    @Test
+    public void should_throw_runtime_exception_if_constructor_not_accessible() {
+        assertThrows(RuntimeException.class,
+                () -> new Args<PrivateOptions>().parse(PrivateOptions.class, "-p", "8080"));
+    }
+
+    @Test
+    public void should_reuse_parse_plan_across_threads() {
+        List<MultiOptions> options = IntStream.range(0, 1000).parallel()
+                .mapToObj(i -> new Args<MultiOptions>().parse(MultiOptions.class, "-p", String.valueOf(i)))
+                .toList();
+        for (int i = 0; i < options.size(); i++) {
+            assertEquals(i, options.get(i).port());
+        }
+    }
+
+    @Test
+    public void should_throw_runtime_exception_if_options_constructor_failed() {
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> new Args<PortOptions>().parse(PortOptions.class, "-p", "-1"));
+        assertTrue(e.getCause().getCause() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void should_throw_runtime_exception_if_generated_parser_cannot_be_created() {
+        assertThrows(RuntimeException.class,
+                () -> new Args<BrokenOptions>().parse(BrokenOptions.class, "-l"));
+    }
+
+    @Test
+    public void should_throw_runtime_exception_if_generated_parser_constructor_failed() {
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> new Args<FailingOptions>().parse(FailingOptions.class, "-l"));
+        assertTrue(e.getCause().getCause() instanceof IOException);
+    }
+
+    @Test
+    public void should_throw_illegal_option_exception_if_value_type_not_supported() {
+        ArgumentIndex index = new ArgumentIndex(List.of("-t", "1"), new OptionSchema(List.of("t")));
+        OptionValues values = new OptionValues(index, OptionParserRegistry.DEFAULT);
+        IllegalOptionException e = assertThrows(IllegalOptionException.class, () -> values.get(Thread.class, "t"));
+        assertEquals("t", e.getParameter());
+    }
+
+    @Test
+    public void should_parse_gnu_style_options() {
+        MultiOptions options = new Args<MultiOptions>().parse(MultiOptions.class, "-l", "--p=8080", "--d", "/usr/logs");
+        assertEquals(new MultiOptions(true, 8080, "/usr/logs"), options);
+    }
+
+    @Test
+    public void should_recognize_option_name_with_digits() {
+        assertEquals(new Digits(true, 80), new Args<Digits>().parse(Digits.class, "-v2", "-p", "80"));
+        assertEquals(new Digits(true, 0), new Args<Digits>().parse(Digits.class, "--v2"));
+
+        ParseResult<Digits> result = new Args<Digits>().tryParse(Digits.class, "-v3", "-p", "80");
+        assertEquals("-v3", ((UnknownOptionException) result.errors().get(0)).getOption());
+    }
+
+    @Test
+    public void should_pass_arguments_after_end_of_options_to_preceding_option() {
+        Args<MultiOptions> args = new Args<>();
+
+        assertEquals(new MultiOptions(false, 0, "-x"), args.parse(MultiOptions.class, "-d", "--", "-x"));
+        assertTrue(args.tryParse(MultiOptions.class, "-l", "--", "x").errors().get(0)
+                instanceof TooManyArgumentsException);
+        assertTrue(args.tryParse(MultiOptions.class, "-p", "80", "--", "x").errors().get(0)
+                instanceof TooManyArgumentsException);
+    }
+
+    @Test
+    public void should_bind_record_through_canonical_constructor() {
+        RecordWithExtraConstructor options = new Args<RecordWithExtraConstructor>()
+                .parse(RecordWithExtraConstructor.class, "-p", "8080", "-d", "/usr/logs");
+
+        assertEquals(new RecordWithExtraConstructor(8080, "/usr/logs"), options);
+    }
+
+    @Test
+    public void should_bind_class_through_constructor_with_all_parameters_annotated() {
+        ClassOptions options = new Args<ClassOptions>().parse(ClassOptions.class, "-p", "8080");
+
+        assertEquals(8080, options.port);
+    }
+
+    @Test
+    public void should_throw_illegal_option_exception_if_more_than_one_constructor_fully_annotated() {
+        assertThrows(IllegalOptionException.class,
+                () -> new Args<AmbiguousOptions>().parse(AmbiguousOptions.class, "-p", "8080"));
+    }
+
+    @Test
+    public void should_throw_illegal_option_exception_if_no_constructor_fully_annotated() {
+        assertThrows(IllegalOptionException.class,
+                () -> new Args<PartialOptions>().parse(PartialOptions.class, "-l", "-p", "8080"));
+    }
+
+    @Nested
+    class TryParse {
+        @Test
+        public void should_return_parsed_options_if_no_error() {
+            ParseResult<MultiOptions> result = new Args<MultiOptions>()
+                    .tryParse(MultiOptions.class, "-l", "-p", "8080", "-d", "/usr/logs");
+
+            assertTrue(result.isSuccess());
+            assertEquals(new MultiOptions(true, 8080, "/usr/logs"), result.value());
+        }
+
+        @Test
+        public void should_collect_all_option_errors_without_stack_trace() {
+            ParseResult<MultiOptions> result = new Args<MultiOptions>()
+                    .tryParse(MultiOptions.class, "-l", "t", "-p", "http", "-d");
+
+            assertFalse(result.isSuccess());
+            assertNull(result.value());
+            assertEquals(3, result.errors().size());
+            assertEquals("l", ((TooManyArgumentsException) result.errors().get(0)).getOption());
+            assertEquals("http", ((IllegalValueException) result.errors().get(1)).getValue());
+            assertEquals("d", ((InsufficientArgumentsException) result.errors().get(2)).getOption());
+            result.errors().forEach(e -> assertEquals(0, e.getStackTrace().length));
+        }
+
+        @Test
+        public void should_report_unknown_options() {
+            ParseResult<MultiOptions> result = new Args<MultiOptions>()
+                    .tryParse(MultiOptions.class, "-l", "--verbose", "-p", "8080", "-x");
+
+            assertNull(result.value());
+            assertEquals(List.of("--verbose", "-x"), result.errors().stream()
+                    .map(e -> ((UnknownOptionException) e).getOption()).toList());
+            assertEquals(0, result.errors().get(0).getStackTrace().length);
+        }
+
+        @Test
+        public void should_ignore_unknown_options_in_throwing_mode() {
+            MultiOptions options = new Args<MultiOptions>().parse(MultiOptions.class, "-l", "-x", "-p", "8080");
+
+            assertEquals(new MultiOptions(true, 8080, ""), options);
+        }
+
+        @Test
+        public void should_collect_errors_of_primitive_list_options() {
+            ParseResult<PrimitiveListOptions> result = new Args<PrimitiveListOptions>()
+                    .tryParse(PrimitiveListOptions.class, "-i", "x", "-l", "y", "-d", "z");
+
+            assertEquals(List.of("x", "y", "z"), result.errors().stream()
+                    .map(e -> ((IllegalValueException) e).getValue()).toList());
+        }
+
+        @Test
+        public void should_return_error_if_options_not_supported() {
+            ParseResult<OptionsWithoutAnnotation> result = new Args<OptionsWithoutAnnotation>()
+                    .tryParse(OptionsWithoutAnnotation.class, "-l");
+
+            assertEquals("port", ((IllegalOptionException) result.errors().get(0)).getParameter());
+        }
+
+        @Test
+        public void should_return_error_if_options_constructor_failed() {
+            ParseResult<PortOptions> result = new Args<PortOptions>().tryParse(PortOptions.class, "-p", "-1");
+
+            assertTrue(result.errors().get(0).getCause() instanceof IllegalArgumentException);
+        }
+
+        @Test
+        public void should_keep_default_value_of_generated_parser_if_value_illegal() {
+            List<Exception> errors = new ArrayList<>();
+            ArgumentIndex index = new ArgumentIndex(List.of("-p", "x", "y"), new OptionSchema(List.of("p")));
+            OptionValues values = new OptionValues(index, OptionParserRegistry.DEFAULT, errors);
+
+            assertEquals(0, values.get(int.class, "p"));
+            assertNull(values.get(String.class, "p"));
+            assertEquals(2, errors.size());
+        }
+    }
+
+    @Nested
+    class ParseAll {
+        @Test
+        public void should_return_results_in_input_order() {
+            List<String[]> batch = IntStream.range(0, 1000)
+                    .mapToObj(i -> new String[]{"-p", String.valueOf(i)}).toList();
+
+            List<ParseResult<MultiOptions>> results = new Args<MultiOptions>().parseAll(MultiOptions.class, batch);
+
+            assertEquals(IntStream.range(0, 1000).boxed().toList(),
+                    results.stream().map(it -> it.value().port()).toList());
+        }
+
+        @Test
+        public void should_report_errors_per_item() {
+            List<String[]> batch = List.of(new String[]{"-p", "8080"}, new String[]{"-p", "http"}, new String[]{"-l"});
+
+            List<ParseResult<MultiOptions>> results = new Args<MultiOptions>().parseAll(MultiOptions.class, batch);
+
+            assertEquals(List.of(true, false, true), results.stream().map(ParseResult::isSuccess).toList());
+            assertEquals("http", ((IllegalValueException) results.get(1).errors().get(0)).getValue());
+        }
+    }
+
     record MultiOptions(@Option("l") boolean logging, @Option("p") int port, @Option("d") String directory) {
     }
 
@@ -51,4 +277,64 @@ public class ArgsTest {
 
     record ListOptions(@Option("g") String[] group, @Option("d") Integer[] decimals) {
     }
+
+    record PrimitiveListOptions(@Option("i") int[] ids, @Option("l") long[] longs,
+                                @Option("d") double[] doubles) {
+    }
+
+    record PortOptions(@Option("p") int port) {
+        PortOptions {
+            if (port < 0) {
+                throw new IllegalArgumentException();
+            }
+        }
+    }
+
+    record BrokenOptions(@Option("l") boolean logging) {
+    }
+
+    record Digits(@Option("v2") boolean v2, @Option("p") int port) {
+    }
+
+    record FailingOptions(@Option("l") boolean logging) {
+    }
+
+    record UnsupportedOptions(@Option("t") Thread timeout) {
+    }
+
+    static class PrivateOptions {
+        private PrivateOptions(@Option("p") int port) {
+        }
+    }
+
+    record RecordWithExtraConstructor(@Option("p") int port, @Option("d") String directory) {
+        RecordWithExtraConstructor(int port) {
+            this(port, "");
+        }
+    }
+
+    static class ClassOptions {
+        final int port;
+
+        ClassOptions() {
+            this(0);
+        }
+
+        ClassOptions(@Option("p") int port) {
+            this.port = port;
+        }
+    }
+
+    static class AmbiguousOptions {
+        AmbiguousOptions(@Option("p") int port) {
+        }
+
+        AmbiguousOptions(@Option("p") int port, @Option("d") String directory) {
+        }
+    }
+
+    static class PartialOptions {
+        PartialOptions(@Option("l") boolean logging, int port) {
+        }
+    }
 }
@@ -0,0 +1,128 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exceptions.IllegalValueException;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArgumentFileTest {
+
+    @Test
+    public void should_split_file_content_by_whitespace() throws IOException {
+        ArgumentFile file = new ArgumentFile(file("  -g this\n\tis  \r\n-d 1 2"));
+
+        assertEquals(List.of("-g", "this", "is", "-d", "1", "2"), file);
+    }
+
+    @Test
+    public void should_read_empty_file_as_no_arguments() throws IOException {
+        assertTrue(new ArgumentFile(file("")).isEmpty());
+    }
+
+    @Test
+    public void should_decode_arguments_as_utf8() throws IOException {
+        assertEquals(List.of("目录", "-d"), new ArgumentFile(file("目录 -d ")));
+    }
+
+    @Test
+    public void should_throw_exception_if_index_out_of_range() throws IOException {
+        ArgumentFile file = new ArgumentFile(file("-l"));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> file.get(1));
+    }
+
+    @Test
+    public void should_return_arguments_if_no_argument_file() throws IOException {
+        List<String> arguments = asList("-l", "-p", "8080");
+
+        assertSame(arguments, ArgumentFile.expand(arguments));
+    }
+
+    @Test
+    public void should_expand_argument_file_in_place() throws IOException {
+        Path file = file("-p 8080\n-d /usr/logs");
+
+        List<String> arguments = ArgumentFile.expand(asList("-l", "@" + file, "-g", "a", "", "@" + file));
+
+        assertEquals(List.of("-l", "-p", "8080", "-d", "/usr/logs", "-g", "a", "", "-p", "8080", "-d", "/usr/logs"),
+                arguments);
+        assertThrows(IndexOutOfBoundsException.class, () -> arguments.get(arguments.size()));
+    }
+
+    @Test
+    public void should_treat_double_prefix_as_escaped_argument() throws IOException {
+        assertEquals(List.of("-d", "@home"), ArgumentFile.expand(asList("-d", "@@home")));
+    }
+
+    @Test
+    public void should_report_unreadable_argument_file_as_illegal_value() {
+        IllegalValueException e = assertThrows(IllegalValueException.class,
+                () -> ArgumentFile.expand(asList("@not-exist")));
+
+        assertEquals("@", e.getOption());
+        assertEquals("@not-exist", e.getValue());
+        assertTrue(e.getCause() instanceof NoSuchFileException);
+    }
+
+    @Test
+    public void should_report_unreadable_argument_file_as_illegal_value_of_preceding_option() {
+        assertEquals("g", owner("-g", "a", "ab", "@home"));
+        assertEquals("group", owner("--group=a", "@home"));
+        assertEquals("p", owner("--p", "-1", "@home"));
+    }
+
+    @Test
+    public void should_report_at_prefixed_option_value_clearly() {
+        ParseResult<DirectoryOptions> result = new Args<DirectoryOptions>()
+                .tryParse(DirectoryOptions.class, "-d", "@home");
+
+        IllegalValueException error = (IllegalValueException) result.errors().get(0);
+        assertEquals("d", error.getOption());
+        assertEquals("@home", error.getValue());
+        assertEquals("@home", new Args<DirectoryOptions>().parse(DirectoryOptions.class, "-d", "@@home").directory());
+    }
+
+    private static String owner(String... arguments) {
+        return assertThrows(IllegalValueException.class, () -> ArgumentFile.expand(asList(arguments))).getOption();
+    }
+
+    @Test
+    public void should_parse_list_option_from_argument_file() throws IOException {
+        String ids = IntStream.range(0, 100_000).mapToObj(String::valueOf).collect(Collectors.joining("\n"));
+        Path file = file("-i\n" + ids + "\n");
+
+        IdOptions options = new Args<IdOptions>().parse(IdOptions.class, "-l", "@" + file);
+
+        assertTrue(options.logging());
+        assertEquals(100_000, options.ids().length);
+        assertEquals(99_999, options.ids()[99_999]);
+    }
+
+    @Test
+    public void should_throw_runtime_exception_if_argument_file_cannot_be_read() {
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> new Args<IdOptions>().parse(IdOptions.class, "@not-exist"));
+        assertTrue(e.getCause() instanceof IllegalValueException);
+        assertTrue(e.getCause().getCause() instanceof NoSuchFileException);
+    }
+
+    private static Path file(String content) throws IOException {
+        Path file = Files.createTempFile("args", ".txt");
+        file.toFile().deleteOnExit();
+        return Files.writeString(file, content);
+    }
+
+    record DirectoryOptions(@Option("d") String directory) {
+    }
+
+    record IdOptions(@Option("l") boolean logging, @Option("i") int[] ids) {
+    }
+}
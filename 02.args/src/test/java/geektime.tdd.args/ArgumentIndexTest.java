@@ -0,0 +1,146 @@
+package geektime.tdd.args;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import java.util.List;
+import java.util.stream.IntStream;
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArgumentIndexTest {
+    private static final OptionSchema SCHEMA = new OptionSchema(
+            List.of("g", "d", "l", "p", "v", "x", "log-level", "port", "group", "directory"));
+
+    private static ArgumentIndex index(String... arguments) {
+        return new ArgumentIndex(asList(arguments), SCHEMA);
+    }
+
+    @Test
+    public void should_index_values_until_next_flag() {
+        ArgumentIndex index = index("-g", "this", "is", "-d", "1", "2");
+        assertEquals(asList("this", "is"), index.values("g"));
+        assertEquals(asList("1", "2"), index.values("d"));
+    }
+
+    @Test
+    public void should_return_null_if_option_not_present() {
+        assertNull(index("-l").values("p"));
+    }
+
+    @Test
+    public void should_use_first_occurrence_of_duplicated_flag() {
+        ArgumentIndex index = index("-p", "8080", "-l", "-p", "8081");
+        assertEquals(asList("8080"), index.values("p"));
+    }
+
+    @Test
+    public void should_not_treat_negative_number_as_end_of_values() {
+        ArgumentIndex index = index("-d", "-1", "-2", "-l");
+        assertEquals(asList("-1", "-2"), index.values("d"));
+    }
+
+    @Test
+    public void should_index_long_option() {
+        ArgumentIndex index = index("--log-level", "debug", "--port", "8080", "-l");
+        assertEquals(asList("debug"), index.values("log-level"));
+        assertEquals(asList("8080"), index.values("port"));
+        assertEquals(asList(), index.values("l"));
+    }
+
+    @Test
+    public void should_index_inline_value_of_long_option() {
+        ArgumentIndex index = index("--port=8080", "--group=a", "b", "--directory=", "-l");
+        assertEquals(asList("8080"), index.values("port"));
+        assertEquals(asList("a", "b"), index.values("group"));
+        assertEquals(asList(""), index.values("directory"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"--=8080", "--1a", "-a=b", "-", "--"})
+    public void should_treat_malformed_option_as_value(String argument) {
+        ArgumentIndex index = index("-g", "a", argument);
+        List<String> values = index.values("g");
+        assertEquals("a", values.get(0));
+        assertEquals(argument.equals("--") ? 1 : 2, values.size());
+    }
+
+    @Test
+    public void should_expand_clustered_boolean_flags() {
+        ArgumentIndex index = index("-lv", "-xp", "8080", "-log-level", "debug");
+        assertEquals(asList(), index.values("l"));
+        assertEquals(asList(), index.values("v"));
+        assertEquals(asList(), index.values("x"));
+        assertEquals(asList("8080"), index.values("p"));
+        assertEquals(asList("debug"), index.values("log-level"));
+        assertNull(index.values("g"));
+        assertNull(index.values("e"));
+    }
+
+    @Test
+    public void should_not_expand_single_dash_long_option_into_one_letter_options() {
+        ArgumentIndex index = new ArgumentIndex(asList("-port", "8080"),
+                new OptionSchema(List.of("p", "o", "r", "t", "port")));
+        assertEquals(asList("8080"), index.values("port"));
+        assertNull(index.values("p"));
+        assertNull(index.values("o"));
+        assertNull(index.values("r"));
+        assertNull(index.values("t"));
+    }
+
+    @Test
+    public void should_not_expand_cluster_of_long_option() {
+        assertNull(index("--lv").values("l"));
+    }
+
+    @Test
+    public void should_stop_recognizing_options_after_end_of_options() {
+        ArgumentIndex index = index("-l", "-g", "a", "--", "-b", "--c", "-l");
+        assertEquals(asList(), index.values("l"));
+        assertEquals(asList("a", "-b", "--c", "-l"), index.values("g"));
+        assertNull(index.values("b"));
+        assertNull(index.values("c"));
+    }
+
+    @Test
+    public void should_ignore_values_after_end_of_options_without_option() {
+        assertNull(index("--", "-l").values("l"));
+    }
+
+    @Test
+    public void should_report_unknown_options() {
+        ArgumentIndex index = index("-g", "a", "-z", "b", "--unknown", "-lz", "--lv", "-l");
+        assertEquals(asList("a"), index.values("g"));
+        assertEquals(asList("-z", "--unknown", "-lz", "--lv"), index.unknown());
+        assertEquals(asList(), index.values("l"));
+        assertNull(index.values("z"));
+    }
+
+    @Test
+    public void should_not_report_unknown_option_if_all_known() {
+        assertEquals(asList(), index("-l", "--port=8080", "-xv").unknown());
+    }
+
+    @Test
+    public void should_index_many_options() {
+        List<String> names = IntStream.range(0, 500)
+                .mapToObj(i -> "option-" + (char) ('a' + i % 26) + "-" + (char) ('a' + i / 26))
+                .toList();
+        ArgumentIndex index = new ArgumentIndex(names.stream().map(name -> "--" + name).toList(),
+                new OptionSchema(names));
+        names.forEach(name -> assertEquals(asList(), index.values(name)));
+        assertTrue(index.unknown().isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"-l", "-Z", "-log-level", "-aAzZ", "-a1", "-v2-x9"})
+    public void should_recognize_flag(String argument) {
+        assertTrue(ArgumentIndex.isFlag(argument));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"-", "l", "-1", "-1a", "-a{", "-a_", "-a@"})
+    public void should_not_recognize_flag(String argument) {
+        assertFalse(ArgumentIndex.isFlag(argument));
+    }
+}
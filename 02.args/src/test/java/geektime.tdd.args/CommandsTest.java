@@ -0,0 +1,49 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exceptions.UnknownCommandException;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandsTest {
+
+    private final Commands commands = new Commands()
+            .register("import", ImportOptions.class)
+            .register("export", ExportOptions.class);
+
+    @Test
+    public void should_parse_remaining_arguments_with_selected_command() {
+        assertEquals(new ImportOptions("x", true), commands.parse("import", "-f", "x", "-v"));
+        assertEquals(new ExportOptions("y"), commands.parse("export", "-o", "y"));
+    }
+
+    @Test
+    public void should_not_analyze_options_of_command_not_selected() {
+        Commands commands = new Commands(OptionParserRegistry.defaults())
+                .register("import", ImportOptions.class)
+                .register("broken", UnsupportedOptions.class);
+
+        assertEquals(new ImportOptions("x", false), commands.parse("import", "-f", "x"));
+    }
+
+    @Test
+    public void should_throw_exception_if_command_not_registered() {
+        UnknownCommandException e = assertThrows(UnknownCommandException.class, () -> commands.parse("status"));
+        assertEquals("status", e.getCommand());
+    }
+
+    @Test
+    public void should_throw_exception_if_command_not_given() {
+        UnknownCommandException e = assertThrows(UnknownCommandException.class, () -> commands.parse());
+        assertEquals("", e.getCommand());
+    }
+
+    record ImportOptions(@Option("f") String file, @Option("v") boolean verbose) {
+    }
+
+    record ExportOptions(@Option("o") String output) {
+    }
+
+    record UnsupportedOptions(@Option("t") Thread thread) {
+    }
+}
@@ -0,0 +1,63 @@
+package geektime.tdd.args;
+
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyValueTest {
+
+    @Test
+    public void should_compute_value_only_once_across_threads() throws InterruptedException {
+        AtomicInteger computed = new AtomicInteger();
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        LazyValue<Integer> value = new LazyValue<>(() -> {
+            computing.countDown();
+            await(release);
+            return computed.incrementAndGet();
+        });
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+
+        Thread computer = new Thread(() -> first.set(value.get()));
+        computer.start();
+        computing.await();
+        Thread waiter = new Thread(() -> second.set(value.get()));
+        waiter.start();
+        while (waiter.getState() != Thread.State.BLOCKED) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        computer.join();
+        waiter.join();
+
+        assertEquals(1, first.get());
+        assertEquals(1, second.get());
+        assertEquals(1, value.get());
+        assertEquals(1, computed.get());
+    }
+
+    @Test
+    public void should_compute_again_if_computation_failed() {
+        AtomicInteger attempts = new AtomicInteger();
+        LazyValue<Integer> value = new LazyValue<>(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException();
+            }
+            return attempts.get();
+        });
+
+        assertThrows(IllegalStateException.class, value::get);
+        assertEquals(2, value.get());
+        assertEquals(2, value.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exceptions.IllegalOptionException;
+import geektime.tdd.args.exceptions.IllegalValueException;
+import geektime.tdd.args.exceptions.InsufficientArgumentsException;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OptionParserRegistryTest {
+
+    @Nested
+    class BuiltInTypes {
+        @Test
+        public void should_parse_built_in_value_types() {
+            ServerOptions options = new Args<ServerOptions>().parse(ServerOptions.class,
+                    "-t", "3000000000", "-r", "0.25", "-d", "/usr/logs", "-w", "PT30S",
+                    "-a", "localhost:8080", "-m", "FAST");
+
+            assertEquals(3000000000L, options.total());
+            assertEquals(0.25, options.ratio());
+            assertEquals(Path.of("/usr/logs"), options.directory());
+            assertEquals(Duration.ofSeconds(30), options.timeout());
+            assertEquals(InetSocketAddress.createUnresolved("localhost", 8080), options.address());
+            assertEquals(Mode.FAST, options.mode());
+        }
+
+        @Test
+        public void should_use_default_value_if_option_not_present() {
+            ServerOptions options = new Args<ServerOptions>().parse(ServerOptions.class);
+
+            assertEquals(0L, options.total());
+            assertEquals(0d, options.ratio());
+            assertNull(options.directory());
+            assertEquals(Duration.ZERO, options.timeout());
+            assertNull(options.address());
+            assertNull(options.mode());
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"localhost", "localhost:http", "localhost:70000"})
+        public void should_throw_exception_if_address_illegal(String address) {
+            RuntimeException e = assertThrows(RuntimeException.class,
+                    () -> new Args<ServerOptions>().parse(ServerOptions.class, "-a", address));
+            IllegalValueException cause = (IllegalValueException) e.getCause();
+            assertEquals("a", cause.getOption());
+            assertEquals(address, cause.getValue());
+        }
+
+        @Test
+        public void should_throw_exception_if_enum_constant_not_exist() {
+            RuntimeException e = assertThrows(RuntimeException.class,
+                    () -> new Args<ServerOptions>().parse(ServerOptions.class, "-m", "fast"));
+            assertEquals("m", ((IllegalValueException) e.getCause()).getOption());
+        }
+
+        @Test
+        public void should_reuse_enum_parser() {
+            OptionParserRegistry registry = OptionParserRegistry.defaults();
+
+            assertSame(registry.parser(Mode.class), registry.parser(Mode.class));
+        }
+
+        @Test
+        public void should_not_support_unregistered_type() {
+            assertNull(OptionParserRegistry.defaults().parser(Thread.class));
+        }
+    }
+
+    @Nested
+    class StreamingTypes {
+        @Test
+        public void should_parse_values_lazily_when_consumed() {
+            StreamOptions options = new Args<StreamOptions>().parse(StreamOptions.class,
+                    "-i", "1", "x", "-m", "FAST", "SAFE", "-d", "1", "-2");
+
+            Iterator<Mode> modes = options.modes();
+            assertEquals(Mode.FAST, modes.next());
+            assertEquals(Mode.SAFE, modes.next());
+            assertFalse(modes.hasNext());
+            assertArrayEquals(new int[]{1, -2}, options.decimals().toArray());
+            IllegalValueException e = assertThrows(IllegalValueException.class, () -> options.ids().toList());
+            assertEquals("i", e.getOption());
+            assertEquals("x", e.getValue());
+        }
+
+        @Test
+        public void should_use_empty_stream_if_option_not_present() {
+            StreamOptions options = new Args<StreamOptions>().parse(StreamOptions.class);
+
+            assertEquals(0, options.ids().count());
+            assertFalse(options.modes().hasNext());
+            assertEquals(0, options.decimals().count());
+        }
+
+        @Test
+        public void should_parse_stream_of_registered_type() {
+            OptionParserRegistry registry = OptionParserRegistry.defaults()
+                    .register(Version.class, null, Version::parse);
+
+            VersionStreamOptions options = new Args<VersionStreamOptions>(registry)
+                    .parse(VersionStreamOptions.class, "-v", "1.2", "2.0");
+
+            assertEquals(List.of(new Version(1, 2), new Version(2, 0)), options.versions().toList());
+        }
+
+        @Test
+        public void should_not_support_unknown_element_or_container_type() {
+            assertThrows(IllegalOptionException.class,
+                    () -> new Args<VersionStreamOptions>().parse(VersionStreamOptions.class, "-v", "1.2"));
+            assertThrows(IllegalOptionException.class,
+                    () -> new Args<ListOptions>().parse(ListOptions.class, "-g", "a"));
+            assertThrows(IllegalOptionException.class,
+                    () -> new Args<WildcardOptions>().parse(WildcardOptions.class, "-g", "a"));
+        }
+    }
+
+    @Nested
+    class LazyTypes {
+        @Test
+        public void should_not_parse_value_until_first_access() {
+            AtomicInteger parsed = new AtomicInteger();
+            OptionParserRegistry registry = OptionParserRegistry.defaults()
+                    .register(Version.class, null, value -> {
+                        parsed.incrementAndGet();
+                        return Version.parse(value);
+                    });
+
+            LazyOptions options = new Args<LazyOptions>(registry).parse(LazyOptions.class, "-v", "1.2");
+            assertEquals(0, parsed.get());
+
+            assertEquals(new Version(1, 2), options.version().get());
+            assertEquals(new Version(1, 2), options.version().get());
+            assertEquals(1, parsed.get());
+        }
+
+        @Test
+        public void should_use_default_value_if_option_not_present() {
+            LazyDefaultOptions options = new Args<LazyDefaultOptions>().parse(LazyDefaultOptions.class);
+
+            assertEquals(0, options.port().get());
+            assertNull(options.mode().get());
+        }
+
+        @Test
+        public void should_check_arity_when_parsing() {
+            RuntimeException e = assertThrows(RuntimeException.class,
+                    () -> new Args<LazyDefaultOptions>().parse(LazyDefaultOptions.class, "-p"));
+            assertTrue(e.getCause() instanceof InsufficientArgumentsException);
+        }
+
+        @Test
+        public void should_throw_exception_with_value_when_accessed() {
+            LazyDefaultOptions options = new Args<LazyDefaultOptions>()
+                    .parse(LazyDefaultOptions.class, "-p", "x", "-m", "SAFE");
+
+            assertEquals(Mode.SAFE, options.mode().get());
+            IllegalValueException e = assertThrows(IllegalValueException.class, () -> options.port().get());
+            assertEquals("p", e.getOption());
+            assertEquals("x", e.getValue());
+        }
+    }
+
+    @Nested
+    class CustomTypes {
+        @Test
+        public void should_parse_option_with_registered_value_parser() {
+            OptionParserRegistry registry = OptionParserRegistry.defaults()
+                    .register(Version.class, new Version(0, 0), Version::parse);
+
+            VersionOptions options = new Args<VersionOptions>(registry).parse(VersionOptions.class, "-v", "1.2");
+
+            assertEquals(new Version(1, 2), options.version());
+        }
+
+        @Test
+        public void should_parse_option_with_registered_option_parser() {
+            OptionParser<Version> parser = (values, option) -> {
+                List<String> arguments = values.values(option.value());
+                return new Version(arguments == null ? 0 : arguments.size(), 0);
+            };
+            OptionParserRegistry registry = OptionParserRegistry.defaults().register(Version.class, parser);
+
+            VersionOptions options = new Args<VersionOptions>(registry).parse(VersionOptions.class, "-v", "a", "b");
+
+            assertEquals(new Version(2, 0), options.version());
+        }
+
+        @Test
+        public void should_plan_again_after_type_registered() {
+            OptionParserRegistry registry = OptionParserRegistry.defaults();
+            Args<VersionOptions> args = new Args<>(registry);
+            assertThrows(IllegalOptionException.class, () -> args.parse(VersionOptions.class, "-v", "1.2"));
+
+            registry.register(Version.class, null, Version::parse);
+
+            assertEquals(new Version(1, 2), args.parse(VersionOptions.class, "-v", "1.2").version());
+        }
+
+        @Test
+        public void should_not_affect_default_registry() {
+            OptionParserRegistry.defaults().register(Version.class, null, Version::parse);
+
+            assertThrows(IllegalOptionException.class,
+                    () -> new Args<VersionOptions>().parse(VersionOptions.class, "-v", "1.2"));
+        }
+    }
+
+    enum Mode {
+        FAST, SAFE
+    }
+
+    record ServerOptions(@Option("t") long total, @Option("r") double ratio, @Option("d") Path directory,
+                         @Option("w") Duration timeout, @Option("a") InetSocketAddress address,
+                         @Option("m") Mode mode) {
+    }
+
+    record Version(int major, int minor) {
+        static Version parse(String value) {
+            String[] parts = value.split("\\.");
+            return new Version(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        }
+    }
+
+    record VersionOptions(@Option("v") Version version) {
+    }
+
+    record StreamOptions(@Option("i") Stream<Integer> ids, @Option("m") Iterator<Mode> modes,
+                         @Option("d") IntStream decimals) {
+    }
+
+    record VersionStreamOptions(@Option("v") Stream<Version> versions) {
+    }
+
+    record LazyOptions(@Option("v") Supplier<Version> version) {
+    }
+
+    record LazyDefaultOptions(@Option("p") Supplier<Integer> port, @Option("m") Supplier<Mode> mode) {
+    }
+
+    record ListOptions(@Option("g") List<String> group) {
+    }
+
+    record WildcardOptions(@Option("g") Stream<?> group) {
+    }
+}
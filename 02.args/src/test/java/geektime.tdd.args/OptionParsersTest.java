@@ -82,6 +82,12 @@ public class OptionParsersTest {
         public void should_set_default_value_to_true_if_flag_present() {
             assertTrue(new OptionParsers().bool().parse(asList("-l"), option("l")));
         }
+
+        @Test
+        public void should_not_accept_boolean_value_on_command_line() {
+            assertThrows(TooManyArgumentsException.class, () ->
+                    new OptionParsers().bool().parse(asList("-l", "false"), option("l")));
+        }
     }
 
     @Nested
@@ -119,4 +125,86 @@ public class OptionParsersTest {
         }
 
     }
+
+    @Nested
+    class PrimitiveListOptionParser {
+        @Test
+        public void should_parse_int_list_option() {
+            int[] values = new OptionParsers().intList(Integer::parseInt).parse(asList("-d", "1", "-2"), option("d"));
+            assertArrayEquals(new int[]{1, -2}, values);
+        }
+
+        @Test
+        public void should_parse_long_list_option() {
+            long[] values = new OptionParsers().longList(Long::parseLong).parse(asList("-d", "3000000000", "-2"), option("d"));
+            assertArrayEquals(new long[]{3000000000L, -2}, values);
+        }
+
+        @Test
+        public void should_parse_double_list_option() {
+            double[] values = new OptionParsers().doubleList(Double::parseDouble).parse(asList("-d", "0.5", "-2"), option("d"));
+            assertArrayEquals(new double[]{0.5, -2}, values);
+        }
+
+        @Test
+        public void should_use_empty_array_as_default_value() {
+            assertEquals(0, new OptionParsers().intList(Integer::parseInt).parse(asList(), option("d")).length);
+            assertEquals(0, new OptionParsers().longList(Long::parseLong).parse(asList(), option("d")).length);
+            assertEquals(0, new OptionParsers().doubleList(Double::parseDouble).parse(asList(), option("d")).length);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"int", "long", "double"})
+        public void should_throw_exception_if_value_parser_cannot_parse_value(String type) {
+            OptionParser<?> parser = switch (type) {
+                case "int" -> new OptionParsers().intList(Integer::parseInt);
+                case "long" -> new OptionParsers().longList(Long::parseLong);
+                default -> new OptionParsers().doubleList(Double::parseDouble);
+            };
+            IllegalValueException e = assertThrows(IllegalValueException.class,
+                    () -> parser.parse(asList("-d", "1", "x"), option("d")));
+            assertEquals("d", e.getOption());
+            assertEquals("x", e.getValue());
+        }
+    }
+
+    @Nested
+    class StreamOptionParser {
+        @Test
+        public void should_not_parse_values_until_consumed() {
+            Function<String, Integer> parser = it -> {
+                throw new RuntimeException();
+            };
+            assertNotNull(new OptionParsers().stream(parser).parse(asList("-d", "1"), option("d")));
+            assertNotNull(new OptionParsers().iterator(parser).parse(asList("-d", "1"), option("d")));
+            assertNotNull(new OptionParsers().intStream(it -> {
+                throw new RuntimeException();
+            }).parse(asList("-d", "1"), option("d")));
+        }
+
+        @Test
+        public void should_throw_exception_with_value_when_consumed() {
+            IllegalValueException e = assertThrows(IllegalValueException.class, () -> new OptionParsers()
+                    .intStream(Integer::parseInt).parse(asList("-d", "1", "x"), option("d")).sum());
+            assertEquals("d", e.getOption());
+            assertEquals("x", e.getValue());
+        }
+    }
+
+    @Nested
+    class LazyOptionParser {
+        @Test
+        public void should_not_accept_extra_argument_for_lazy_option() {
+            TooManyArgumentsException e = assertThrows(TooManyArgumentsException.class, () ->
+                    new OptionParsers().lazy(0, Integer::parseInt).parse(asList("-p", "8080", "8081"), option("p")));
+            assertEquals("p", e.getOption());
+        }
+
+        @Test
+        public void should_not_parse_value_until_accessed() {
+            assertNotNull(new OptionParsers().lazy(0, it -> {
+                throw new RuntimeException();
+            }).parse(asList("-p", "8080"), option("p")));
+        }
+    }
 }
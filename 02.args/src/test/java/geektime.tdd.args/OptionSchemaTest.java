@@ -0,0 +1,72 @@
+package geektime.tdd.args;
+
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OptionSchemaTest {
+
+    @Test
+    public void should_assign_slot_by_declaration_order() {
+        OptionSchema schema = new OptionSchema(List.of("l", "p", "d"));
+        assertEquals(3, schema.size());
+        assertEquals(List.of(0, 1, 2), List.of(schema.slot("l"), schema.slot("p"), schema.slot("d")));
+    }
+
+    @Test
+    public void should_keep_one_slot_for_duplicated_names() {
+        OptionSchema schema = new OptionSchema(List.of("p", "p"));
+        assertEquals(1, schema.size());
+        assertEquals(0, schema.slot("p"));
+    }
+
+    @Test
+    public void should_not_find_unknown_names() {
+        OptionSchema schema = new OptionSchema(List.of("l", "p", "d"));
+        assertEquals(-1, schema.slot("a"));
+        assertEquals(-1, schema.slot("g"));
+        assertEquals(-1, schema.slot("ad"));
+    }
+
+    @Test
+    public void should_find_name_region_in_argument() {
+        OptionSchema schema = new OptionSchema(List.of("port", "p"));
+        assertEquals(0, schema.slot("--port=8080", 2, 6));
+        assertEquals(1, schema.slot("-p", 1, 2));
+    }
+
+    @Test
+    public void should_retry_until_names_hashed_to_distinct_buckets() {
+        OptionSchema schema = new OptionSchema(List.of("g", "d", "l", "p"));
+        assertEquals(List.of(0, 1, 2, 3), List.of(schema.slot("g"), schema.slot("d"), schema.slot("l"), schema.slot("p")));
+    }
+
+    @Test
+    public void should_index_large_schema() {
+        List<String> names = IntStream.range(0, 500).mapToObj(i -> "option-" + i).toList();
+        OptionSchema schema = new OptionSchema(names);
+        IntStream.range(0, 500).forEach(i -> assertEquals(i, schema.slot(names.get(i))));
+    }
+
+    @Test
+    public void should_fall_back_to_hash_map_if_names_always_collide() {
+        OptionSchema schema = new OptionSchema(List.of("p", "\0p"));
+        assertEquals(0, schema.slot("p"));
+        assertEquals(1, schema.slot("-\0p", 1, 3));
+        assertEquals(-1, schema.slot("\0\0p"));
+        assertTrue(schema.isCluster("-p"));
+    }
+
+    @Test
+    public void should_index_empty_schema() {
+        assertEquals(-1, new OptionSchema(List.of()).slot("l"));
+    }
+
+    @Test
+    public void should_recognize_cluster_of_single_letter_options() {
+        OptionSchema schema = new OptionSchema(List.of("l", "p", "v"));
+        assertTrue(schema.isCluster("-lvp"));
+        assertFalse(schema.isCluster("-lx"));
+    }
+}
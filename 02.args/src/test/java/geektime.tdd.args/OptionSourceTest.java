@@ -0,0 +1,192 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exceptions.IllegalValueException;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OptionSourceTest {
+
+    @Nested
+    class Environment {
+        @Test
+        public void should_read_upper_case_variable_with_prefix() {
+            OptionSource source = OptionSource.environment("APP_", Map.of("APP_LOG_LEVEL", "debug"));
+
+            assertEquals("debug", source.value("log-level"));
+            assertNull(source.value("port"));
+        }
+
+        @Test
+        public void should_read_system_environment() {
+            assertEquals(System.getenv("PATH"), OptionSource.environment("").value("path"));
+        }
+    }
+
+    @Nested
+    class PropertiesFile {
+        @Test
+        public void should_read_property_by_option_name() throws IOException {
+            OptionSource source = OptionSource.properties(file("p=8080\nd=/usr/logs\n"));
+
+            assertEquals("8080", source.value("p"));
+            assertNull(source.value("l"));
+        }
+
+        @Test
+        public void should_not_read_file_again_if_not_modified() throws IOException {
+            Path file = file("p=8080\n");
+            FileTime modified = Files.getLastModifiedTime(file);
+            OptionSource source = new PropertiesSource(file, Duration.ZERO);
+            assertEquals("8080", source.value("p"));
+
+            Files.writeString(file, "p=9090\n");
+            Files.setLastModifiedTime(file, modified);
+
+            assertEquals("8080", source.value("p"));
+        }
+
+        @Test
+        public void should_read_file_again_if_modified() throws IOException {
+            Path file = file("p=8080\n");
+            OptionSource source = new PropertiesSource(file, Duration.ZERO);
+            assertEquals("8080", source.value("p"));
+
+            Files.writeString(file, "p=9090\n");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+
+            assertEquals("9090", source.value("p"));
+        }
+
+        @Test
+        public void should_not_check_file_again_within_interval() throws IOException {
+            Path file = file("p=8080\n");
+            OptionSource source = OptionSource.properties(file);
+            assertEquals("8080", source.value("p"));
+
+            Files.delete(file);
+
+            assertEquals("8080", source.value("p"));
+        }
+
+        @Test
+        public void should_have_no_value_if_file_is_directory() throws IOException {
+            Path directory = Files.createTempDirectory("args");
+            directory.toFile().deleteOnExit();
+
+            assertNull(OptionSource.properties(directory).value("p"));
+        }
+
+        @Test
+        public void should_have_no_value_if_file_not_exist() throws IOException {
+            Path file = file("");
+            Files.delete(file);
+
+            assertNull(OptionSource.properties(file).value("p"));
+        }
+
+        @Test
+        public void should_throw_exception_if_file_cannot_be_read() throws IOException {
+            Path file = file("");
+            Files.write(file, new byte[]{'p', '=', (byte) 0xff});
+
+            assertThrows(UncheckedIOException.class, () -> OptionSource.properties(file).value("p"));
+        }
+    }
+
+    @Nested
+    class Layered {
+        private final OptionSource environment = OptionSource.environment("APP_",
+                Map.of("APP_P", "9090", "APP_L", "true", "APP_G", "this is"));
+
+        @Test
+        public void should_prefer_command_line_over_sources() throws IOException {
+            Args<Options> args = args(environment, OptionSource.properties(file("p=7070\n")));
+
+            Options options = args.parse(Options.class, "-p", "8080", "-d", "/usr/logs");
+
+            assertEquals(8080, options.port());
+            assertEquals("/usr/logs", options.directory());
+        }
+
+        @Test
+        public void should_prefer_environment_over_config_file() throws IOException {
+            Args<Options> args = args(environment, OptionSource.properties(file("p=7070\nd=/var/logs\n")));
+
+            Options options = args.parse(Options.class);
+
+            assertTrue(options.logging());
+            assertEquals(9090, options.port());
+            assertEquals("/var/logs", options.directory());
+            assertArrayEquals(new String[]{"this", "is"}, options.group());
+        }
+
+        @Test
+        public void should_use_default_value_if_no_source_has_option() {
+            Options options = args().parse(Options.class);
+
+            assertFalse(options.logging());
+            assertEquals(0, options.port());
+            assertEquals("", options.directory());
+            assertArrayEquals(new String[0], options.group());
+        }
+
+        @Test
+        public void should_not_split_value_of_single_value_option() throws IOException {
+            Options options = args(OptionSource.properties(file("d=/My Documents\ng=a b\n")))
+                    .parse(Options.class);
+
+            assertEquals("/My Documents", options.directory());
+            assertArrayEquals(new String[]{"a", "b"}, options.group());
+        }
+
+        @Test
+        public void should_read_boolean_option_from_source() {
+            Args<Options> disabled = args(OptionSource.environment("", Map.of("L", "false")));
+            Args<Options> enabled = args(OptionSource.environment("", Map.of("L", " true ")));
+
+            assertFalse(disabled.parse(Options.class).logging());
+            assertTrue(enabled.parse(Options.class).logging());
+        }
+
+        @Test
+        public void should_not_accept_other_boolean_value_from_source() {
+            ParseResult<Options> result = args(OptionSource.environment("", Map.of("L", "yes")))
+                    .tryParse(Options.class);
+
+            assertTrue(result.errors().get(0) instanceof IllegalValueException);
+        }
+
+        @Test
+        public void should_collect_error_of_value_from_source() {
+            ParseResult<Options> result = args(OptionSource.environment("", Map.of("P", "port")))
+                    .tryParse(Options.class);
+
+            assertFalse(result.isSuccess());
+            assertTrue(result.errors().get(0) instanceof IllegalValueException);
+        }
+
+        private static Args<Options> args(OptionSource... sources) {
+            return new Args<>(OptionParserRegistry.DEFAULT, List.of(sources));
+        }
+    }
+
+    private static Path file(String content) throws IOException {
+        Path file = Files.createTempFile("args", ".properties");
+        file.toFile().deleteOnExit();
+        return Files.writeString(file, content);
+    }
+
+    record Options(@Option("l") boolean logging, @Option("p") int port, @Option("d") String directory,
+                   @Option("g") String[] group) {
+    }
+}
@@ -0,0 +1,302 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exceptions.IllegalOptionException;
+import geektime.tdd.args.exceptions.IllegalValueException;
+import geektime.tdd.args.exceptions.InsufficientArgumentsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OptionsProcessorTest {
+    private Path root;
+    private Path sources;
+    private Path classes;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        root = Files.createTempDirectory("options-processor");
+        sources = Files.createDirectories(root.resolve("src"));
+        classes = Files.createDirectories(root.resolve("classes"));
+    }
+
+    @Test
+    public void should_generate_parser_for_options_record() throws Exception {
+        source("sample/Tool.java", """
+                package sample;
+                import geektime.tdd.args.annotation.Option;
+                public class Tool {
+                    public record Options(@Option("l") boolean logging, @Option("p") int port,
+                                          @Option("d") String directory, @Option("g") String[] group) {
+                    }
+                }
+                """);
+        assertTrue(compile());
+
+        Class<?> options = load("sample.Tool$Options");
+        Object parsed = parse(options, "-l", "-p", "8080", "-d", "/usr/logs", "-g", "a", "b");
+
+        assertEquals("sample.Tool$Options_ArgsParser", OptionParserRegistry.DEFAULT.plan(options).parser().getClass().getName());
+        assertEquals(true, options.getMethod("logging").invoke(parsed));
+        assertEquals(8080, options.getMethod("port").invoke(parsed));
+        assertEquals("/usr/logs", options.getMethod("directory").invoke(parsed));
+        assertArrayEquals(new String[]{"a", "b"}, (String[]) options.getMethod("group").invoke(parsed));
+    }
+
+    @Test
+    public void should_generate_parser_for_class_in_default_package() throws Exception {
+        source("Plain.java", """
+                import geektime.tdd.args.annotation.Option;
+                public class Plain {
+                    public final String name;
+                    public Plain(@Option("n") String name) {
+                        this.name = name;
+                    }
+                    public Plain() {
+                        this("");
+                    }
+                }
+                """);
+        assertTrue(compile());
+
+        Class<?> options = load("Plain");
+
+        assertEquals("Plain_ArgsParser", OptionParserRegistry.DEFAULT.plan(options).parser().getClass().getName());
+        assertEquals("name", options.getDeclaredField("name").get(parse(options, "-n", "name")));
+    }
+
+    @Test
+    public void should_resolve_option_parsers_once_when_generated_parser_planned() throws Exception {
+        source("sample/Unsupported.java", """
+                package sample;
+                import geektime.tdd.args.annotation.Option;
+                public record Unsupported(@Option("t") Thread timeout) {
+                }
+                """);
+        assertTrue(compile());
+
+        Class<?> options = load("sample.Unsupported");
+        OptionParserRegistry registry = OptionParserRegistry.defaults();
+
+        IllegalOptionException e = assertThrows(IllegalOptionException.class, () -> registry.plan(options));
+        assertEquals("t", e.getParameter());
+        assertTrue(Files.readString(classes.resolve("sample/Unsupported_ArgsParser.java"))
+                .contains("values.get(parsers[0], java.lang.Thread.class, \"t\")"));
+    }
+
+    @Test
+    public void should_not_construct_options_by_generated_parser_if_any_option_failed() throws Exception {
+        source("sample/Validated.java", """
+                package sample;
+                import geektime.tdd.args.annotation.Option;
+                public record Validated(@Option("p") int port, @Option("d") String directory) {
+                    public Validated {
+                        if (port <= 0) {
+                            throw new IllegalArgumentException("port");
+                        }
+                    }
+                }
+                """);
+        assertTrue(compile());
+
+        Class<?> options = load("sample.Validated");
+        @SuppressWarnings("unchecked")
+        ParseResult<Object> result = new Args<Object>().tryParse((Class<Object>) options, "-p", "http", "-d");
+
+        assertEquals("sample.Validated_ArgsParser", OptionParserRegistry.DEFAULT.plan(options).parser().getClass().getName());
+        assertNull(result.value());
+        assertEquals(2, result.errors().size());
+        assertTrue(result.errors().get(0) instanceof IllegalValueException);
+        assertTrue(result.errors().get(1) instanceof InsufficientArgumentsException);
+    }
+
+    @Test
+    public void should_not_mix_up_parsers_of_nested_and_underscored_types() throws Exception {
+        source("sample/Outer.java", """
+                package sample;
+                import geektime.tdd.args.annotation.Option;
+                public class Outer {
+                    public record Opts(@Option("p") int port) {
+                    }
+                }
+                """);
+        source("sample/Outer_Opts.java", """
+                package sample;
+                import geektime.tdd.args.annotation.Option;
+                public record Outer_Opts(@Option("d") String directory) {
+                }
+                """);
+        assertTrue(compile());
+
+        Class<?> nested = load("sample.Outer$Opts");
+        Class<?> underscored = load("sample.Outer_Opts");
+
+        assertEquals("sample.Outer$Opts_ArgsParser", OptionParserRegistry.DEFAULT.plan(nested).parser().getClass().getName());
+        assertEquals("sample.Outer_Opts_ArgsParser",
+                OptionParserRegistry.DEFAULT.plan(underscored).parser().getClass().getName());
+        assertEquals(8080, nested.getMethod("port").invoke(parse(nested, "-p", "8080")));
+        assertEquals("/usr/logs", underscored.getMethod("directory").invoke(parse(underscored, "-d", "/usr/logs")));
+    }
+
+    @Test
+    public void should_bind_canonical_constructor_of_record_like_reflection() throws Exception {
+        source("sample/Extra.java", """
+                package sample;
+                import geektime.tdd.args.annotation.Option;
+                public record Extra(@Option("p") int port, @Option("d") String directory) {
+                    public Extra(@Option("p") int port) {
+                        this(port, "extra");
+                    }
+                    public Extra(@Option("p") long port, @Option("d") String directory) {
+                        this((int) port, directory + " extra");
+                    }
+                }
+                """);
+        assertTrue(compile());
+
+        Class<?> options = load("sample.Extra");
+
+        assertEquals("sample.Extra_ArgsParser", OptionParserRegistry.DEFAULT.plan(options).parser().getClass().getName());
+        assertEquals("/usr/logs", options.getMethod("directory").invoke(parse(options, "-p", "1", "-d", "/usr/logs")));
+    }
+
+    @Test
+    public void should_not_generate_parser_if_more_than_one_constructor_annotated() throws Exception {
+        source("sample/Ambiguous.java", """
+                package sample;
+                import geektime.tdd.args.annotation.Option;
+                public class Ambiguous {
+                    public Ambiguous(@Option("n") String name) {
+                    }
+                    public Ambiguous(@Option("n") String name, @Option("x") int extra) {
+                    }
+                }
+                """);
+        assertTrue(compile());
+
+        assertFalse(Files.exists(classes.resolve("sample/Ambiguous" + ParsePlan.GENERATED_SUFFIX + ".class")));
+        assertThrows(IllegalOptionException.class, () -> parse(load("sample.Ambiguous"), "-n", "name"));
+    }
+
+    @Test
+    public void should_not_suppress_warnings_in_generated_parser() throws Exception {
+        source("sample/Plain.java", """
+                package sample;
+                import geektime.tdd.args.annotation.Option;
+                public record Plain(@Option("l") boolean logging) {
+                }
+                """);
+        assertTrue(compile());
+
+        assertFalse(Files.readString(classes.resolve("sample/Plain_ArgsParser.java")).contains("SuppressWarnings"));
+    }
+
+    @Test
+    public void should_escape_option_name_in_generated_parser() throws Exception {
+        source("sample/Escaped.java", """
+                package sample;
+                import geektime.tdd.args.annotation.Option;
+                public record Escaped(@Option("a\\"b") boolean flag) {
+                }
+                """);
+        assertTrue(compile());
+
+        Class<?> options = load("sample.Escaped");
+
+        assertTrue(Files.readString(classes.resolve("sample/Escaped_ArgsParser.java")).contains("\"a\\\"b\""));
+        assertEquals(false, options.getMethod("flag").invoke(parse(options)));
+    }
+
+    @Test
+    public void should_not_generate_parser_if_not_accessible_or_not_fully_annotated() throws Exception {
+        source("sample/Skipped.java", """
+                package sample;
+                import geektime.tdd.args.annotation.Option;
+                public class Skipped {
+                    record NotAnnotated(@Option("l") boolean logging, int port) {
+                    }
+                    private record Hidden(@Option("l") boolean logging) {
+                    }
+                    record Streamed(@Option("d") String directory, @Option("g") java.util.stream.Stream<String> group) {
+                    }
+                    class Inner {
+                        Inner(@Option("l") boolean logging) {
+                        }
+                    }
+                    private static class Outer {
+                        static class Deep {
+                            Deep(@Option("l") boolean logging) {
+                            }
+                        }
+                    }
+                    static class PrivateConstructor {
+                        private PrivateConstructor(@Option("l") boolean logging) {
+                        }
+                    }
+                    void method(@Option("l") boolean logging) {
+                    }
+                }
+                """);
+        assertTrue(compile());
+
+        try (Stream<Path> generated = Files.walk(classes)) {
+            assertTrue(generated.noneMatch(path -> path.toString().endsWith(ParsePlan.GENERATED_SUFFIX + ".class")));
+        }
+    }
+
+    @Test
+    public void should_report_error_if_parser_cannot_be_generated() throws Exception {
+        source("sample/Duplicated.java", """
+                package sample;
+                import geektime.tdd.args.annotation.Option;
+                public record Duplicated(@Option("l") boolean logging) {
+                }
+                """);
+        source("sample/Duplicated_ArgsParser.java", """
+                package sample;
+                public class Duplicated_ArgsParser {
+                }
+                """);
+
+        assertFalse(compile());
+    }
+
+    private void source(String name, String content) throws IOException {
+        Path file = sources.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private boolean compile() throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(null, null, null);
+             Stream<Path> paths = Files.walk(sources)) {
+            List<Path> units = paths.filter(path -> path.toString().endsWith(".java")).toList();
+            String classpath = Path.of(Option.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, null,
+                    List.of("-d", classes.toString(), "-s", classes.toString(), "-classpath", classpath),
+                    null, files.getJavaFileObjectsFromPaths(units));
+            task.setProcessors(List.of(new OptionsProcessor()));
+            return task.call();
+        }
+    }
+
+    private Class<?> load(String name) throws Exception {
+        return Class.forName(name, true, new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object parse(Class<?> options, String... args) {
+        return new Args<Object>().parse((Class<Object>) options, args);
+    }
+}
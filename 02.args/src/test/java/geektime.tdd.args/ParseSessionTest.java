@@ -0,0 +1,141 @@
+package geektime.tdd.args;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exceptions.IllegalOptionException;
+import geektime.tdd.args.exceptions.IllegalValueException;
+import geektime.tdd.args.exceptions.UnknownOptionException;
+import org.junit.jupiter.api.Test;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParseSessionTest {
+
+    @Test
+    public void should_only_parse_options_whose_arguments_changed() {
+        AtomicInteger parsed = new AtomicInteger();
+        OptionParserRegistry registry = OptionParserRegistry.defaults()
+                .register(Version.class, null, value -> {
+                    parsed.incrementAndGet();
+                    return Version.parse(value);
+                });
+        ParseSession<VersionOptions> session = new Args<VersionOptions>(registry).session(VersionOptions.class);
+
+        assertEquals(new VersionOptions(new Version(1, 2), 1),
+                session.update("-v", "1.2", "-p", "1").value());
+        assertEquals(new VersionOptions(new Version(1, 2), 12),
+                session.update("-v", "1.2", "-p", "12").value());
+        assertEquals(1, parsed.get());
+
+        assertEquals(new VersionOptions(new Version(1, 3), 12),
+                session.update("-p", "12", "-v", "1.3").value());
+        assertEquals(2, parsed.get());
+    }
+
+    @Test
+    public void should_report_diagnostics_per_option() {
+        ParseSession<Options> session = new Args<Options>().session(Options.class);
+
+        ParseResult<Options> result = session.update("-p", "x", "-q", "-d", "/usr/logs");
+
+        assertFalse(result.isSuccess());
+        assertEquals(Set.of("p", "-q"), session.diagnostics().keySet());
+        IllegalValueException error = (IllegalValueException) session.diagnostics().get("p");
+        assertEquals("x", error.getValue());
+        assertTrue(session.diagnostics().get("-q") instanceof UnknownOptionException);
+    }
+
+    @Test
+    public void should_keep_error_of_unchanged_option() {
+        ParseSession<Options> session = new Args<Options>().session(Options.class);
+        IllegalValueException error = (IllegalValueException) session.update("-p", "x").errors().get(0);
+
+        ParseResult<Options> result = session.update("-p", "x", "-l");
+
+        assertEquals(List.of(error), result.errors());
+        assertSame(error, session.diagnostics().get("p"));
+    }
+
+    @Test
+    public void should_clear_diagnostics_once_fixed() {
+        ParseSession<Options> session = new Args<Options>().session(Options.class);
+        session.update("-p", "x", "-q");
+
+        ParseResult<Options> result = session.update("-l", "-p", "8080");
+
+        assertEquals(new Options(true, 8080, ""), result.value());
+        assertTrue(session.diagnostics().isEmpty());
+    }
+
+    @Test
+    public void should_not_share_reused_arrays_between_results() {
+        ParseSession<ArrayOptions> session = new Args<ArrayOptions>().session(ArrayOptions.class);
+        ArrayOptions first = session.update("-g", "a", "b", "-i", "1", "2").value();
+        first.group()[0] = "changed";
+        first.ids()[0] = 0;
+
+        ArrayOptions second = session.update("-g", "a", "b", "-i", "1", "2").value();
+
+        assertArrayEquals(new String[]{"a", "b"}, second.group());
+        assertArrayEquals(new int[]{1, 2}, second.ids());
+    }
+
+    @Test
+    public void should_keep_missing_value_error_of_unchanged_option() {
+        ParseSession<Options> session = new Args<Options>().session(Options.class);
+        session.update("-d");
+
+        ParseResult<Options> result = session.update("-l", "-d");
+
+        assertEquals(Set.of("d"), session.diagnostics().keySet());
+        assertNull(result.value());
+    }
+
+    @Test
+    public void should_parse_streams_again_on_every_update() {
+        ParseSession<StreamOptions> session = new Args<StreamOptions>().session(StreamOptions.class);
+
+        StreamOptions first = session.update("-i", "1", "2", "-n", "3").value();
+        assertEquals(List.of(1, 2), first.ids().toList());
+        assertEquals(3, first.names().next());
+
+        StreamOptions second = session.update("-i", "1", "2", "-n", "3").value();
+        assertEquals(List.of(1, 2), second.ids().toList());
+        assertEquals(3, second.names().next());
+    }
+
+    @Test
+    public void should_report_unsupported_options_class_as_error() {
+        ParseSession<ListOptions> session = new Args<ListOptions>().session(ListOptions.class);
+
+        ParseResult<ListOptions> result = session.update("-g", "a");
+
+        assertTrue(result.errors().get(0) instanceof IllegalOptionException);
+        assertTrue(session.diagnostics().isEmpty());
+    }
+
+    record Options(@Option("l") boolean logging, @Option("p") int port, @Option("d") String directory) {
+    }
+
+    record Version(int major, int minor) {
+        static Version parse(String value) {
+            String[] parts = value.split("\\.");
+            return new Version(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        }
+    }
+
+    record VersionOptions(@Option("v") Version version, @Option("p") int port) {
+    }
+
+    record StreamOptions(@Option("i") Stream<Integer> ids, @Option("n") Iterator<Integer> names) {
+    }
+
+    record ArrayOptions(@Option("g") String[] group, @Option("i") int[] ids) {
+    }
+
+    record ListOptions(@Option("g") List<String> group) {
+    }
+}
@@ -1,5 +1,6 @@
 plugins {
     common
+    id("me.champeau.jmh") version "0.6.6"
 }
 
 codeCoverage {
@@ -10,3 +11,7 @@ dependencies {
     implementation("jakarta.inject:jakarta.inject-api:2.0.1")
     testImplementation("org.mockito:mockito-core:4.6.1")
 }
+
+jmh {
+    jmhVersion.set("1.35")
+}
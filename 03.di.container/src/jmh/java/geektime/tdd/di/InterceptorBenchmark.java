@@ -0,0 +1,99 @@
+package geektime.tdd.di;
+
+import jakarta.inject.Singleton;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterceptorBenchmark {
+
+    public interface Calculator {
+        int add(int a, int b);
+    }
+
+    public static class SimpleCalculator implements Calculator {
+        @Override
+        public int add(int a, int b) {
+            return a + b;
+        }
+    }
+
+    public static class CountingCalculator implements Calculator {
+        private final Calculator target;
+        private int calls;
+
+        public CountingCalculator(Calculator target) {
+            this.target = target;
+        }
+
+        @Override
+        public int add(int a, int b) {
+            calls++;
+            return target.add(a, b);
+        }
+    }
+
+    private Calculator undecorated;
+    private Calculator intercepted;
+    private Calculator proxied;
+    private int a = 1;
+    private int b = 2;
+
+    @Setup
+    public void setup() {
+        ContextConfig plain = new ContextConfig();
+        plain.bind(Calculator.class, SimpleCalculator.class, new SingletonLiteral());
+        undecorated = plain.getContext().get(ComponentRef.of(Calculator.class)).get();
+
+        ContextConfig decorated = new ContextConfig();
+        decorated.intercept(Calculator.class, CountingCalculator::new);
+        decorated.bind(Calculator.class, SimpleCalculator.class, new SingletonLiteral());
+        intercepted = decorated.getContext().get(ComponentRef.of(Calculator.class)).get();
+
+        Calculator target = new SimpleCalculator();
+        int[] calls = new int[1];
+        proxied = (Calculator) Proxy.newProxyInstance(Calculator.class.getClassLoader(), new Class<?>[]{Calculator.class},
+                (proxy, method, args) -> {
+                    calls[0]++;
+                    return method.invoke(target, args);
+                });
+    }
+
+    @Benchmark
+    public int undecorated() {
+        return undecorated.add(a, b);
+    }
+
+    @Benchmark
+    public int intercepted() {
+        return intercepted.add(a, b);
+    }
+
+    @Benchmark
+    public int jdkProxy() {
+        return proxied.add(a, b);
+    }
+
+    record SingletonLiteral() implements Singleton {
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Singleton.class;
+        }
+    }
+}
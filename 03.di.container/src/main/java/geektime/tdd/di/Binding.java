@@ -0,0 +1,9 @@
+package geektime.tdd.di;
+
+import java.lang.annotation.Annotation;
+
+public record Binding<Type>(Class<Type> type, Class<? extends Type> implementation, Annotation... annotations) {
+    public Binding(Class<Type> type, Class<? extends Type> implementation) {
+        this(type, implementation, implementation.getAnnotations());
+    }
+}
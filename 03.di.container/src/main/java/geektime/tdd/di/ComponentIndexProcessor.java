@@ -0,0 +1,87 @@
+package geektime.tdd.di;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+@SupportedAnnotationTypes("jakarta.inject.Inject")
+public class ComponentIndexProcessor extends AbstractProcessor {
+    private final Map<String, String> entries = new TreeMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        for (TypeElement annotation : annotations)
+            for (Element element : round.getElementsAnnotatedWith(annotation))
+                index((TypeElement) element.getEnclosingElement());
+        if (round.processingOver()) write();
+        return false;
+    }
+
+    private void index(TypeElement component) {
+        if (!isInstantiable(component)) return;
+        String implementation = binaryName(component);
+        List<String> types = provides(component);
+        for (String type : types.isEmpty() ? List.of(implementation) : types) {
+            String existing = entries.putIfAbsent(type, implementation);
+            if (existing != null && !existing.equals(implementation))
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        type + " is provided by both " + existing + " and " + implementation, component);
+        }
+    }
+
+    private List<String> provides(TypeElement component) {
+        for (AnnotationMirror annotation : component.getAnnotationMirrors()) {
+            if (!binaryName((TypeElement) annotation.getAnnotationType().asElement()).equals(Provides.class.getName()))
+                continue;
+            for (AnnotationValue value : annotation.getElementValues().values())
+                return ((List<?>) value.getValue()).stream()
+                        .map(type -> binaryName((TypeElement) ((DeclaredType) ((AnnotationValue) type).getValue()).asElement()))
+                        .toList();
+        }
+        return List.of();
+    }
+
+    private static boolean isInstantiable(TypeElement component) {
+        return component.getKind() == ElementKind.CLASS
+                && !component.getModifiers().contains(Modifier.ABSTRACT)
+                && !component.getModifiers().contains(Modifier.PRIVATE)
+                && (component.getNestingKind() == NestingKind.TOP_LEVEL || component.getModifiers().contains(Modifier.STATIC));
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void write() {
+        if (entries.isEmpty()) return;
+        try (Writer writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ContextConfig.INDEX).openWriter()) {
+            for (Map.Entry<String, String> entry : entries.entrySet())
+                writer.write(entry.getKey() + " " + entry.getValue() + "\n");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Cannot write " + ContextConfig.INDEX + ": " + e.getMessage());
+        }
+    }
+}
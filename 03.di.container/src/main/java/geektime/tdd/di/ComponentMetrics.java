@@ -0,0 +1,7 @@
+package geektime.tdd.di;
+
+public record ComponentMetrics(long gets, long providerGets, long instances, long injectionNanos) {
+    public long reused() {
+        return gets + providerGets - instances;
+    }
+}
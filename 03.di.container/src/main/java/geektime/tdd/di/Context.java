@@ -1,7 +1,12 @@
 package geektime.tdd.di;
 
+import java.util.Map;
 import java.util.Optional;
 
-interface Context {
+public interface Context {
     <ComponentType> Optional<ComponentType> get(ComponentRef<ComponentType> ref);
+
+    default Map<Component, ComponentMetrics> metrics() {
+        return Map.of();
+    }
 }
@@ -4,29 +4,48 @@ import jakarta.inject.Provider;
 import jakarta.inject.Qualifier;
 import jakarta.inject.Scope;
 import jakarta.inject.Singleton;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class ContextConfig {
+    static final String INDEX = "META-INF/geektime-tdd/components";
+
     private final Map<Component, ComponentProvider<?>> components = new HashMap<>();
     private Map<Class<?>, ScopeProvider> scopes = new HashMap<>();
+    private final Map<Class<?>, List<Interceptor<?>>> interceptors = new HashMap<>();
+    private final Map<Component, Metrics> metrics = new HashMap<>();
+    private final DependencyArrays dependencyArrays = new DependencyArrays();
+    private boolean measured;
 
 
     public ContextConfig() {
         scope(Singleton.class, SingletonProvider::new);
     }
 
+    public void enableMetrics() {
+        if (!components.isEmpty()) throw new IllegalStateException();
+        measured = true;
+    }
+
     public <Type> void bind(Class<Type> type, Type instance) {
-        components.put(new Component(type, null), (ComponentProvider<Type>) context -> instance);
+        Type intercepted = intercept(type, instance);
+        bind(type, List.of(), (ComponentProvider<Type>) context -> intercepted, new Metrics());
     }
 
     public <Type> void bind(Class<Type> type, Type instance, Annotation... qualifiers) {
         if (Arrays.stream(qualifiers).anyMatch(q -> !q.annotationType().isAnnotationPresent(Qualifier.class)))
             throw new IllegalComponentException();
-        for (Annotation qualifier : qualifiers)
-            components.put(new Component(type, qualifier), (ComponentProvider<Type>) context -> instance);
+        Type intercepted = intercept(type, instance);
+        bind(type, List.of(qualifiers), (ComponentProvider<Type>) context -> intercepted, new Metrics());
     }
 
     public <Type, Implementation extends Type>
@@ -36,24 +55,80 @@ public class ContextConfig {
 
     public <Type, Implementation extends Type>
     void bind(Class<Type> type, Class<Implementation> implementation, Annotation... annotations) {
+        prepare(type, implementation, annotations).run();
+    }
+
+    public void bind(List<Binding<?>> bindings) {
+        bindings.parallelStream().map(this::prepare).toList().forEach(Runnable::run);
+    }
+
+    private <Type> Runnable prepare(Binding<Type> binding) {
+        try {
+            return prepare(binding.type(), binding.implementation(), binding.annotations());
+        } catch (RuntimeException e) {
+            return () -> {
+                throw e;
+            };
+        }
+    }
+
+    private <Type> Runnable prepare(Class<Type> type, Class<? extends Type> implementation, Annotation... annotations) {
         Map<Class<?>, List<Annotation>> annotationGroups = Arrays.stream(annotations).collect(Collectors.groupingBy(this::typeOf, Collectors.toList()));
 
         if (annotationGroups.containsKey(Illegal.class)) throw new IllegalComponentException();
 
-        bind(type, annotationGroups.getOrDefault(Qualifier.class, List.of()),
-                createScopedProvider(implementation, annotationGroups.getOrDefault(Scope.class, List.of())));
+        Metrics metrics = new Metrics();
+        List<Annotation> qualifiers = annotationGroups.getOrDefault(Qualifier.class, List.of());
+        ComponentProvider<?> provider = createScopedProvider(type, implementation, annotationGroups.getOrDefault(Scope.class, List.of()), metrics);
+        return () -> bind(type, qualifiers, provider, metrics);
     }
 
-    private <Type> ComponentProvider<?> createScopedProvider(Class<Type> implementation, List<Annotation> scopes) {
+    public void load(ClassLoader loader) {
+        List<Binding<?>> bindings = new ArrayList<>();
+        try {
+            for (URL index : Collections.list(loader.getResources(INDEX)))
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+                    for (String entry : reader.lines().filter(line -> !line.isBlank()).toList())
+                        bindings.add(binding(entry.trim().split("\\s+"), loader));
+                }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Set<Class<?>> types = new HashSet<>();
+        if (!bindings.stream().allMatch(binding -> types.add(binding.type()))) throw new IllegalComponentException();
+        bind(bindings);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Binding<?> binding(String[] entry, ClassLoader loader) {
+        if (entry.length != 2) throw new IllegalComponentException();
+        try {
+            Class<Object> type = (Class<Object>) Class.forName(entry[0], false, loader);
+            Class<?> implementation = Class.forName(entry[1], false, loader);
+            if (!type.isAssignableFrom(implementation)) throw new IllegalComponentException();
+            return new Binding<>(type, implementation);
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private <Type> ComponentProvider<?> createScopedProvider(Class<Type> type, Class<? extends Type> implementation,
+                                                            List<Annotation> scopes, Metrics metrics) {
         if (scopes.size() > 1) throw new IllegalComponentException();
-        ComponentProvider<?> injectionProvider = new InjectProvider<>(implementation);
+        ComponentProvider<? extends Type> provider = new InjectProvider<>(implementation, dependencyArrays);
+        ComponentProvider<?> injectionProvider = intercept(type, measured ? new MeasuredProvider<>(provider, metrics) : provider);
         return scopes.stream().findFirst().or(() -> scopeFrom(implementation)).<ComponentProvider<?>>map(s -> getScopeProvider(s, injectionProvider)).orElse(injectionProvider);
     }
 
-    private <Type> void bind(Class<Type> type, List<Annotation> qualifiers, ComponentProvider<?> provider) {
-        if (qualifiers.isEmpty()) components.put(new Component(type, null), provider);
+    private <Type> void bind(Class<Type> type, List<Annotation> qualifiers, ComponentProvider<?> provider, Metrics metrics) {
+        if (qualifiers.isEmpty()) bind(new Component(type, null), provider, metrics);
         for (Annotation qualifier : qualifiers)
-            components.put(new Component(type, qualifier), provider);
+            bind(new Component(type, qualifier), provider, metrics);
+    }
+
+    private void bind(Component component, ComponentProvider<?> provider, Metrics metrics) {
+        components.put(component, provider);
+        if (measured) this.metrics.put(component, new Metrics(metrics));
     }
 
     private static   Optional<Annotation> scopeFrom(Class<?> implementation) {
@@ -80,21 +155,94 @@ public class ContextConfig {
         scopes.put(scope, provider);
     }
 
+    public <Type> void intercept(Class<Type> type, Interceptor<Type> interceptor) {
+        if (components.keySet().stream().anyMatch(component -> component.type() == type))
+            throw new IllegalComponentException();
+        interceptors.computeIfAbsent(type, t -> new ArrayList<>()).add(interceptor);
+    }
+
+    /**
+     * Shares one {@link Memoizer} across all methods of the decorated component; keys must include the method,
+     * for example {@link Memoizer#key(String, Object...)}.
+     */
+    public <Type, K, V> Memoizer<K, V> memoize(Class<Type> type, int maximumSize, Memoizer.Policy policy,
+                                               BiFunction<Type, Memoizer<K, V>, Type> decorator) {
+        Memoizer<K, V> memoizer = new Memoizer<>(maximumSize, policy);
+        intercept(type, (Interceptor<Type>) instance -> decorator.apply(instance, memoizer));
+        return memoizer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <Type> Type intercept(Class<Type> type, Type instance) {
+        for (Interceptor<?> interceptor : interceptors.getOrDefault(type, List.of()))
+            instance = ((Interceptor<Type>) interceptor).intercept(instance);
+        return instance;
+    }
+
     @SuppressWarnings("unchecked")
+    private <Type> ComponentProvider<? extends Type> intercept(Class<Type> type, ComponentProvider<? extends Type> provider) {
+        for (Interceptor<?> interceptor : interceptors.getOrDefault(type, List.of()))
+            provider = new InterceptProvider<>(provider, (Interceptor<Type>) interceptor);
+        return provider;
+    }
+
+    public Set<Component> reachable(ComponentRef<?> ref) {
+        Set<Component> reached = new HashSet<>();
+        Deque<Component> pending = new ArrayDeque<>(List.of(ref.component()));
+        while (!pending.isEmpty()) {
+            Component component = pending.pop();
+            if (!reached.add(component) || !components.containsKey(component)) continue;
+            for (ComponentRef<?> dependency : components.get(component).getDependencies())
+                pending.push(dependency.component());
+        }
+        return reached;
+    }
+
     public Context getContext() {
         components.keySet().forEach(component -> checkDependencies(component, new Stack<>()));
+        if (!measured) return createContext(Map.copyOf(components));
+        return createMeasuredContext(components.entrySet().stream().collect(Collectors.toUnmodifiableMap(Map.Entry::getKey,
+                e -> new MeasuredComponent(e.getValue(), metrics.get(e.getKey())))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Context createContext(Map<Component, ComponentProvider<?>> components) {
         return new Context() {
             public <ComponentType> Optional<ComponentType> get(ComponentRef<ComponentType> ref) {
-                if (ref.isContainer()) {
-                    if (ref.getContainer() != Provider.class) return Optional.empty();
-                    return (Optional<ComponentType>) Optional.ofNullable(components.get(ref.component()))
-                            .map(provider -> (Provider<Object>) () -> provider.get(this));
-                }
-                return Optional.ofNullable(components.get(ref.component())).map(provider -> (ComponentType) provider.get(this));
+                if (ref.isContainer() && ref.getContainer() != Provider.class) return Optional.empty();
+                ComponentProvider<?> provider = components.get(ref.component());
+                if (provider == null) return Optional.empty();
+                if (ref.isContainer()) return Optional.of((ComponentType) (Provider<Object>) () -> provider.get(this));
+                return Optional.ofNullable((ComponentType) provider.get(this));
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Context createMeasuredContext(Map<Component, MeasuredComponent> components) {
+        return new Context() {
+            public <ComponentType> Optional<ComponentType> get(ComponentRef<ComponentType> ref) {
+                if (ref.isContainer() && ref.getContainer() != Provider.class) return Optional.empty();
+                MeasuredComponent component = components.get(ref.component());
+                if (component == null) return Optional.empty();
+                if (ref.isContainer()) return Optional.of((ComponentType) (Provider<Object>) () -> {
+                    component.metrics().providerGets.increment();
+                    return component.provider().get(this);
+                });
+                component.metrics().gets.increment();
+                return Optional.ofNullable((ComponentType) component.provider().get(this));
+            }
+
+            @Override
+            public Map<Component, ComponentMetrics> metrics() {
+                return components.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().metrics().snapshot()));
             }
         };
     }
 
+    private record MeasuredComponent(ComponentProvider<?> provider, Metrics metrics) {
+    }
+
     private void checkDependencies(Component component, Stack<Component> visiting) {
         for (ComponentRef dependency : components.get(component).getDependencies()) {
             if (!components.containsKey(dependency.component()))
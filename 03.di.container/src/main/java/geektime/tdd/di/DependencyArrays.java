@@ -0,0 +1,17 @@
+package geektime.tdd.di;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+class DependencyArrays {
+    private final Map<List<ComponentRef<?>>, ComponentRef<?>[]> arrays = new ConcurrentHashMap<>();
+
+    ComponentRef<?>[] share(ComponentRef<?>[] required) {
+        return arrays.computeIfAbsent(List.of(required), key -> required);
+    }
+
+    int size() {
+        return arrays.size();
+    }
+}
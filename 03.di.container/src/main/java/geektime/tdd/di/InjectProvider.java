@@ -14,19 +14,26 @@ class InjectProvider<T> implements ComponentProvider<T> {
     private final Injectable<Constructor<T>> injectConstructor;
     private final List<Injectable<Method>> injectMethods;
     private final List<Injectable<Field>> injectFields;
+    private final List<ComponentRef<?>> dependencies;
 
     public InjectProvider(Class<T> component) {
+        this(component, new DependencyArrays());
+    }
+
+    public InjectProvider(Class<T> component, DependencyArrays arrays) {
         if (Modifier.isAbstract(component.getModifiers())) throw new IllegalComponentException();
 
-        this.injectConstructor = getInjectConstructor(component);
-        this.injectMethods = getInjectMethods(component);
-        this.injectFields = getInjectFields(component);
+        this.injectConstructor = getInjectConstructor(component).share(arrays);
+        this.injectMethods = getInjectMethods(component).stream().map(m -> m.share(arrays)).toList();
+        this.injectFields = getInjectFields(component).stream().map(f -> f.share(arrays)).toList();
 
         if (injectFields.stream().map(Injectable::element).anyMatch(f -> Modifier.isFinal(f.getModifiers())))
             throw new IllegalComponentException();
         if (injectMethods.stream().map(Injectable::element).anyMatch(m -> m.getTypeParameters().length != 0))
             throw new IllegalComponentException();
 
+        this.dependencies = concat(concat(Stream.of(injectConstructor), injectFields.stream()), injectMethods.stream())
+                .flatMap(i -> stream(i.required)).toList();
     }
 
 
@@ -34,10 +41,14 @@ class InjectProvider<T> implements ComponentProvider<T> {
     public T get(Context context) {
         try {
             T instance = injectConstructor.element().newInstance(injectConstructor.toDependencies(context));
-            for (Injectable<Field> field : injectFields)
-                field.element.set(instance, field.toDependencies(context)[0]);
-            for (Injectable<Method> method : injectMethods)
+            for (int i = 0; i < injectFields.size(); i++) {
+                Injectable<Field> field = injectFields.get(i);
+                field.element().set(instance, field.toDependency(context, 0));
+            }
+            for (int i = 0; i < injectMethods.size(); i++) {
+                Injectable<Method> method = injectMethods.get(i);
                 method.element().invoke(instance, method.toDependencies(context));
+            }
             return instance;
         } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
             throw new RuntimeException(e);
@@ -46,12 +57,15 @@ class InjectProvider<T> implements ComponentProvider<T> {
 
     @Override
     public List<ComponentRef<?>> getDependencies() {
-        return concat(concat(Stream.of(injectConstructor), injectFields.stream()), injectMethods.stream())
-                .flatMap(i -> stream(i.required)).toList();
+        return dependencies;
     }
 
     static record Injectable<Element extends AccessibleObject>(Element element, ComponentRef<?>[] required) {
+        private static final ComponentRef<?>[] NO_DEPENDENCIES = new ComponentRef<?>[0];
+        private static final Object[] NO_VALUES = new Object[0];
+
         static <Element extends Executable> Injectable<Element> of(Element constructor) {
+            if (constructor.getParameterCount() == 0) return new Injectable<>(constructor, NO_DEPENDENCIES);
             return new Injectable<>(constructor, stream(constructor.getParameters()).map(Injectable::toComponentRef).toArray(ComponentRef<?>[]::new));
         }
 
@@ -59,8 +73,21 @@ class InjectProvider<T> implements ComponentProvider<T> {
             return new Injectable<>(field, new ComponentRef<?>[]{toComponentRef(field)});
         }
 
+        Injectable<Element> share(DependencyArrays arrays) {
+            if (required.length == 0) return this;
+            return new Injectable<>(element, arrays.share(required));
+        }
+
         Object[] toDependencies(Context context) {
-            return stream(required).map(context::get).map(Optional::get).toArray();
+            if (required.length == 0) return NO_VALUES;
+            Object[] dependencies = new Object[required.length];
+            for (int i = 0; i < required.length; i++)
+                dependencies[i] = toDependency(context, i);
+            return dependencies;
+        }
+
+        Object toDependency(Context context, int index) {
+            return context.get(required[index]).get();
         }
 
         private static ComponentRef toComponentRef(Field field) {
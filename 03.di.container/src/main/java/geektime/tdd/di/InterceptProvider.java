@@ -0,0 +1,23 @@
+package geektime.tdd.di;
+
+import java.util.List;
+
+class InterceptProvider<T> implements ComponentProvider<T> {
+    private final ComponentProvider<? extends T> provider;
+    private final Interceptor<T> interceptor;
+
+    public InterceptProvider(ComponentProvider<? extends T> provider, Interceptor<T> interceptor) {
+        this.provider = provider;
+        this.interceptor = interceptor;
+    }
+
+    @Override
+    public T get(Context context) {
+        return interceptor.intercept(provider.get(context));
+    }
+
+    @Override
+    public List<ComponentRef<?>> getDependencies() {
+        return provider.getDependencies();
+    }
+}
@@ -0,0 +1,9 @@
+package geektime.tdd.di;
+
+/**
+ * Decorates a component instance when it is created. Interceptors are applied in registration order.
+ */
+@FunctionalInterface
+public interface Interceptor<T> {
+    T intercept(T instance);
+}
@@ -0,0 +1,27 @@
+package geektime.tdd.di;
+
+import java.util.List;
+
+class MeasuredProvider<T> implements ComponentProvider<T> {
+    private final ComponentProvider<T> provider;
+    private final Metrics metrics;
+
+    public MeasuredProvider(ComponentProvider<T> provider, Metrics metrics) {
+        this.provider = provider;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public T get(Context context) {
+        long start = System.nanoTime();
+        T instance = provider.get(context);
+        metrics.injectionNanos.add(System.nanoTime() - start);
+        metrics.instances.increment();
+        return instance;
+    }
+
+    @Override
+    public List<ComponentRef<?>> getDependencies() {
+        return provider.getDependencies();
+    }
+}
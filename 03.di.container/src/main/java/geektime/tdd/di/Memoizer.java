@@ -0,0 +1,127 @@
+package geektime.tdd.di;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded concurrent cache. Hits never lock; a miss that overflows the cache evicts the least recently
+ * or least frequently used entry among a sample of {@link #SAMPLE_SIZE} entries, so eviction is exact
+ * only while the cache is no larger than the sample.
+ */
+public class Memoizer<K, V> {
+    public enum Policy {
+        LRU, LFU
+    }
+
+    static final int SAMPLE_SIZE = 16;
+
+    private final int maximumSize;
+    private final Policy policy;
+    private final Map<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Object eviction = new Object();
+    private Iterator<Entry<K, V>> cursor = Collections.emptyIterator();
+
+    public Memoizer(int maximumSize) {
+        this(maximumSize, Policy.LRU);
+    }
+
+    public Memoizer(int maximumSize, Policy policy) {
+        if (maximumSize <= 0) throw new IllegalArgumentException();
+        this.maximumSize = maximumSize;
+        this.policy = policy;
+    }
+
+    public static List<Object> key(String method, Object... arguments) {
+        List<Object> key = new ArrayList<>(arguments.length + 1);
+        key.add(method);
+        key.addAll(Arrays.asList(arguments));
+        return Collections.unmodifiableList(key);
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Entry<K, V> entry = entries.get(key);
+        if (entry != null) {
+            entry.touch();
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        Entry<K, V> inserted = new Entry<>(key, loader.apply(key));
+        Entry<K, V> existing = entries.putIfAbsent(key, inserted);
+        if (existing != null) return existing.value;
+        if (entries.size() > maximumSize) evict(inserted);
+        return inserted.value;
+    }
+
+    private void evict(Entry<K, V> inserted) {
+        synchronized (eviction) {
+            while (entries.size() > maximumSize) {
+                Entry<K, V> victim = null;
+                for (Entry<K, V> candidate : sample())
+                    if (candidate != inserted && (victim == null || candidate.colderThan(victim, policy)))
+                        victim = candidate;
+                if (victim == null) return;
+                entries.remove(victim.key, victim);
+            }
+        }
+    }
+
+    private List<Entry<K, V>> sample() {
+        List<Entry<K, V>> sample = new ArrayList<>(SAMPLE_SIZE);
+        boolean restarted = false;
+        while (sample.size() < Math.min(SAMPLE_SIZE, entries.size())) {
+            if (!cursor.hasNext()) {
+                if (restarted) break;
+                cursor = entries.values().iterator();
+                restarted = true;
+                continue;
+            }
+            Entry<K, V> entry = cursor.next();
+            if (!sample.contains(entry)) sample.add(entry);
+        }
+        return sample;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    private static class Entry<K, V> {
+        private final K key;
+        private final V value;
+        private final AtomicLong uses = new AtomicLong();
+        private volatile long accessed = System.nanoTime();
+
+        Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        void touch() {
+            uses.incrementAndGet();
+            accessed = System.nanoTime();
+        }
+
+        boolean colderThan(Entry<K, V> other, Policy policy) {
+            return policy == Policy.LFU ? uses.get() < other.uses.get() : accessed - other.accessed < 0;
+        }
+    }
+}
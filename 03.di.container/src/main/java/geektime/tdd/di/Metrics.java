@@ -0,0 +1,27 @@
+package geektime.tdd.di;
+
+import java.util.concurrent.atomic.LongAdder;
+
+class Metrics {
+    final LongAdder gets = new LongAdder();
+    final LongAdder providerGets = new LongAdder();
+    final LongAdder instances;
+    final LongAdder injectionNanos;
+
+    Metrics() {
+        this(new LongAdder(), new LongAdder());
+    }
+
+    Metrics(Metrics binding) {
+        this(binding.instances, binding.injectionNanos);
+    }
+
+    private Metrics(LongAdder instances, LongAdder injectionNanos) {
+        this.instances = instances;
+        this.injectionNanos = injectionNanos;
+    }
+
+    ComponentMetrics snapshot() {
+        return new ComponentMetrics(gets.sum(), providerGets.sum(), instances.sum(), injectionNanos.sum());
+    }
+}
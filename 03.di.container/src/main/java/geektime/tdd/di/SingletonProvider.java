@@ -3,8 +3,8 @@ package geektime.tdd.di;
 import java.util.List;
 
 class SingletonProvider<T> implements ComponentProvider<T> {
-    private T singleton;
-    private ComponentProvider<T> provider;
+    private volatile T singleton;
+    private final ComponentProvider<T> provider;
 
     public SingletonProvider(ComponentProvider<T> provider) {
         this.provider = provider;
@@ -12,8 +12,12 @@ class SingletonProvider<T> implements ComponentProvider<T> {
 
     @Override
     public T get(Context context) {
-        if (singleton == null) singleton = provider.get(context);
-        return singleton;
+        T instance = singleton;
+        if (instance != null) return instance;
+        synchronized (this) {
+            if (singleton == null) singleton = provider.get(context);
+            return singleton;
+        }
     }
 
     @Override
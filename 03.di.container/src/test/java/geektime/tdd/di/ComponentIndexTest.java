@@ -0,0 +1,245 @@
+package geektime.tdd.di;
+
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Nested
+public class ComponentIndexTest {
+    private Path root;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        root = Files.createTempDirectory("component-index");
+    }
+
+    @Nested
+    class ProcessorTest {
+        @Test
+        public void should_index_inject_annotated_component_by_itself_not_by_interfaces() throws Exception {
+            List<String> index = compile("""
+                    package sample;
+                    public class ServiceImpl implements java.io.Serializable, Comparable<ServiceImpl> {
+                        @jakarta.inject.Inject
+                        public ServiceImpl() {
+                        }
+                        public int compareTo(ServiceImpl other) {
+                            return 0;
+                        }
+                    }
+                    """);
+
+            assertEquals(List.of("sample.ServiceImpl sample.ServiceImpl"), index);
+        }
+
+        @Test
+        public void should_index_component_by_provided_types() throws Exception {
+            List<String> index = compile("""
+                    package sample;
+                    public interface Service {
+                    }
+                    """, """
+                    package sample;
+                    @geektime.tdd.di.Provides(Service.class)
+                    public class ServiceImpl implements Service, AutoCloseable {
+                        @jakarta.inject.Inject
+                        public ServiceImpl() {
+                        }
+                        public void close() {
+                        }
+                    }
+                    """);
+
+            assertEquals(List.of("sample.Service sample.ServiceImpl"), index);
+        }
+
+        @Test
+        public void should_fail_if_type_provided_by_more_than_one_component() {
+            assertThrows(AssertionError.class, () -> compile("""
+                    package sample;
+                    public interface Service {
+                    }
+                    """, """
+                    package sample;
+                    @geektime.tdd.di.Provides(Service.class)
+                    public class First implements Service {
+                        @jakarta.inject.Inject
+                        public First() {
+                        }
+                    }
+                    """, """
+                    package sample;
+                    @geektime.tdd.di.Provides(Service.class)
+                    public class Second implements Service {
+                        @jakarta.inject.Inject
+                        public Second() {
+                        }
+                    }
+                    """));
+        }
+
+        @Test
+        public void should_index_component_without_interface_by_itself() throws Exception {
+            List<String> index = compile("""
+                    package sample;
+                    public class Repository {
+                        @jakarta.inject.Inject
+                        Object dependency;
+                    }
+                    """);
+
+            assertEquals(List.of("sample.Repository sample.Repository"), index);
+        }
+
+        @Test
+        public void should_index_static_nested_component_by_binary_name() throws Exception {
+            List<String> index = compile("""
+                    package sample;
+                    public class Outer {
+                        public static class Nested {
+                            @jakarta.inject.Inject
+                            void install(Object dependency) {
+                            }
+                        }
+                    }
+                    """);
+
+            assertEquals(List.of("sample.Outer$Nested sample.Outer$Nested"), index);
+        }
+
+        @Test
+        public void should_not_index_abstract_component() throws Exception {
+            List<String> index = compile("""
+                    package sample;
+                    public abstract class Abstract {
+                        @jakarta.inject.Inject
+                        Object dependency;
+                    }
+                    """);
+
+            assertTrue(index.isEmpty());
+            assertFalse(Files.exists(root.resolve("classes").resolve(ContextConfig.INDEX)));
+        }
+
+        @Test
+        public void should_report_error_if_index_cannot_be_written() throws Exception {
+            Path output = Files.createDirectories(root.resolve("classes"));
+            Files.writeString(output.resolve(Path.of(ContextConfig.INDEX).getName(0)), "");
+
+            assertThrows(AssertionError.class, () -> compile("""
+                    package sample;
+                    public class Component {
+                        @jakarta.inject.Inject
+                        public Component() {
+                        }
+                    }
+                    """));
+        }
+
+        private List<String> compile(String... sources) throws Exception {
+            Path sourceRoot = Files.createDirectories(root.resolve("src/sample"));
+            Path output = Files.createDirectories(root.resolve("classes"));
+            for (String source : sources) {
+                String name = source.split("(class|interface) ")[1].split("[ {]")[0];
+                Files.writeString(sourceRoot.resolve(name + ".java"), source);
+            }
+            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            try (StandardJavaFileManager files = compiler.getStandardFileManager(null, null, null)) {
+                Iterable<? extends JavaFileObject> units = files.getJavaFileObjectsFromPaths(Files.list(sourceRoot).toList());
+                JavaCompiler.CompilationTask task = compiler.getTask(null, files, null,
+                        List.of("-d", output.toString(), "-classpath",
+                                classpathOf(Inject.class) + File.pathSeparator + classpathOf(Provides.class), "-proc:only"),
+                        null, units);
+                task.setProcessors(List.of(new ComponentIndexProcessor()));
+                assertTrue(task.call());
+            }
+            Path index = output.resolve(ContextConfig.INDEX);
+            return Files.exists(index) ? Files.readAllLines(index) : List.of();
+        }
+
+        private static String classpathOf(Class<?> type) throws URISyntaxException {
+            return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        }
+    }
+
+    @Nested
+    class LoaderTest {
+        @Test
+        public void should_bind_components_listed_in_index() throws IOException {
+            ContextConfig config = new ContextConfig();
+            config.load(index(Dependency.class.getName() + " " + IndexedDependency.class.getName(),
+                    "",
+                    TestComponent.class.getName() + " " + IndexedComponent.class.getName()));
+
+            TestComponent component = config.getContext().get(ComponentRef.of(TestComponent.class)).get();
+
+            assertTrue(component instanceof IndexedComponent);
+            assertTrue(component.dependency() instanceof IndexedDependency);
+        }
+
+        @Test
+        public void should_throw_exception_if_implementation_not_assignable_to_type() {
+            ContextConfig config = new ContextConfig();
+
+            assertThrows(IllegalComponentException.class, () ->
+                    config.load(index(Dependency.class.getName() + " " + IndexedComponent.class.getName())));
+        }
+
+        @Test
+        public void should_throw_exception_if_type_indexed_more_than_once() {
+            ContextConfig config = new ContextConfig();
+
+            assertThrows(IllegalComponentException.class, () -> config.load(index(
+                    TestComponent.class.getName() + " " + IndexedComponent.class.getName(),
+                    TestComponent.class.getName() + " " + TestComponent.class.getName())));
+        }
+
+        @Test
+        public void should_throw_exception_if_index_entry_malformed() {
+            ContextConfig config = new ContextConfig();
+
+            assertThrows(IllegalComponentException.class, () -> config.load(index(Dependency.class.getName())));
+        }
+
+        @Test
+        public void should_throw_exception_if_indexed_class_not_found() {
+            ContextConfig config = new ContextConfig();
+
+            assertThrows(RuntimeException.class, () -> config.load(index("not.Exist not.Exist")));
+        }
+
+        private ClassLoader index(String... entries) throws IOException {
+            Path index = root.resolve(ContextConfig.INDEX);
+            Files.createDirectories(index.getParent());
+            Files.write(index, List.of(entries));
+            return new URLClassLoader(new URL[]{root.toUri().toURL()}, getClass().getClassLoader());
+        }
+    }
+
+    static class IndexedDependency implements Dependency {
+    }
+
+    static class IndexedComponent implements TestComponent {
+        @Inject
+        Dependency dependency;
+
+        @Override
+        public Dependency dependency() {
+            return dependency;
+        }
+    }
+}
@@ -11,10 +11,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.*;
@@ -104,6 +111,44 @@ public class ContextTest {
             }
         }
 
+        @Test
+        public void should_bind_components_in_bulk() {
+            config.bind(Dependency.class, dependency);
+            config.bind(List.of(
+                    new Binding<>(TestComponent.class, ConstructInjection.class, new SkywalkerLiteral()),
+                    new Binding<>(TestComponent.class, FieldInjection.class),
+                    new Binding<>(TestComponent.class, MethodInjection.class, new NamedLiteral("method"))));
+            Context context = config.getContext();
+
+            assertTrue(context.get(ComponentRef.of(TestComponent.class, new SkywalkerLiteral())).get() instanceof ConstructInjection);
+            assertTrue(context.get(ComponentRef.of(TestComponent.class)).get() instanceof FieldInjection);
+            assertSame(dependency, context.get(ComponentRef.of(TestComponent.class, new NamedLiteral("method"))).get().dependency());
+        }
+
+        @Test
+        public void should_register_bulk_bindings_in_given_order() {
+            config.bind(Dependency.class, dependency);
+            config.bind(List.of(
+                    new Binding<>(TestComponent.class, ConstructInjection.class),
+                    new Binding<>(TestComponent.class, FieldInjection.class)));
+
+            assertTrue(config.getContext().get(ComponentRef.of(TestComponent.class)).get() instanceof FieldInjection);
+        }
+
+        @Test
+        public void should_stop_bulk_binding_at_first_illegal_component_in_given_order() {
+            config.bind(Dependency.class, dependency);
+            List<Binding<?>> bindings = List.of(
+                    new Binding<>(TestComponent.class, ConstructInjection.class),
+                    new Binding<>(TestComponent.class, FieldInjection.class, new TestLiteral()),
+                    new Binding<>(TestComponent.class, MethodInjection.class, new SkywalkerLiteral()));
+
+            assertThrows(IllegalComponentException.class, () -> config.bind(bindings));
+            Context context = config.getContext();
+            assertTrue(context.get(ComponentRef.of(TestComponent.class)).get() instanceof ConstructInjection);
+            assertTrue(context.get(ComponentRef.of(TestComponent.class, new SkywalkerLiteral())).isEmpty());
+        }
+
         //component does not exist
         @Test
         public void should_retrieve_empty_for_unbind_type() {
@@ -111,6 +156,24 @@ public class ContextTest {
             assertTrue(component.isEmpty());
         }
 
+        @Test
+        public void should_not_retrieve_component_bound_after_context_built() {
+            Context context = config.getContext();
+            config.bind(TestComponent.class, instance);
+
+            assertTrue(context.get(ComponentRef.of(TestComponent.class)).isEmpty());
+        }
+
+        @Test
+        public void should_share_identical_dependency_arrays_across_components() {
+            DependencyArrays arrays = new DependencyArrays();
+            new InjectProvider<>(ConstructInjection.class, arrays);
+            new InjectProvider<>(FieldInjection.class, arrays);
+            new InjectProvider<>(MethodInjection.class, arrays);
+
+            assertEquals(1, arrays.size());
+        }
+
         // could get Provider<T> from context
         @Test
         public void should_retrieve_bind_type_as_provider() {
@@ -209,6 +272,9 @@ public class ContextTest {
 
             }
 
+            static class NotSingletonComponent implements TestComponent {
+            }
+
             @Test
             public void should_not_be_singleton_scope_by_default() {
                 config.bind(NotSingleton.class, NotSingleton.class);
@@ -247,6 +313,56 @@ public class ContextTest {
             }
 
 
+            static class Construction {
+                final AtomicInteger count = new AtomicInteger();
+            }
+
+            @Singleton
+            static class Pool {
+                @Inject
+                Pool(Construction construction) throws InterruptedException {
+                    construction.count.incrementAndGet();
+                    Thread.sleep(100);
+                }
+            }
+
+            static class Client {
+                @Inject
+                Client(Pool pool) {
+                }
+            }
+
+            @Test
+            public void should_construct_singleton_once_if_resolved_concurrently() throws Exception {
+                Construction construction = new Construction();
+                config.bind(Construction.class, construction);
+                config.bind(Pool.class, Pool.class);
+                config.bind(Client.class, Client.class);
+                Context context = config.getContext();
+                ExecutorService executor = Executors.newFixedThreadPool(2);
+
+                try {
+                    Future<Client> first = executor.submit(() -> context.get(ComponentRef.of(Client.class)).get());
+                    Future<Client> second = executor.submit(() -> context.get(ComponentRef.of(Client.class)).get());
+                    first.get(5, TimeUnit.SECONDS);
+                    second.get(5, TimeUnit.SECONDS);
+                } finally {
+                    executor.shutdownNow();
+                }
+
+                assertEquals(1, construction.count.get());
+            }
+
+            @Test
+            public void should_find_components_reachable_from_component() {
+                config.bind(Construction.class, new Construction());
+                config.bind(Pool.class, Pool.class);
+                config.bind(Client.class, Client.class);
+
+                assertEquals(Set.of(new Component(Client.class, null), new Component(Pool.class, null),
+                        new Component(Construction.class, null)), config.reachable(ComponentRef.of(Client.class)));
+            }
+
             //  bind component with customize scope annotation
 
             @Test
@@ -322,6 +438,246 @@ public class ContextTest {
         }
     }
 
+    @Nested
+    public class InterceptorTest {
+        static class Decorated implements TestComponent {
+            private final TestComponent target;
+
+            Decorated(TestComponent target) {
+                this.target = target;
+            }
+
+            @Override
+            public Dependency dependency() {
+                return target.dependency();
+            }
+        }
+
+        @Test
+        public void should_intercept_instance_bound_to_type() {
+            config.intercept(TestComponent.class, Decorated::new);
+            config.bind(TestComponent.class, instance);
+
+            TestComponent component = config.getContext().get(ComponentRef.of(TestComponent.class)).get();
+
+            assertTrue(component instanceof Decorated);
+            assertSame(instance, ((Decorated) component).target);
+        }
+
+        @Test
+        public void should_intercept_instance_bound_with_qualifier() {
+            config.intercept(TestComponent.class, Decorated::new);
+            config.bind(TestComponent.class, instance, new SkywalkerLiteral());
+
+            TestComponent component = config.getContext().get(ComponentRef.of(TestComponent.class, new SkywalkerLiteral())).get();
+
+            assertSame(instance, ((Decorated) component).target);
+        }
+
+        @Test
+        public void should_intercept_injection_component() {
+            config.bind(Dependency.class, dependency);
+            config.intercept(TestComponent.class, Decorated::new);
+            config.bind(TestComponent.class, TypeBindingTest.ConstructInjection.class);
+
+            TestComponent component = config.getContext().get(ComponentRef.of(TestComponent.class)).get();
+
+            assertTrue(((Decorated) component).target instanceof TypeBindingTest.ConstructInjection);
+            assertSame(dependency, component.dependency());
+        }
+
+        @Test
+        public void should_apply_interceptors_in_registration_order() {
+            List<String> calls = new ArrayList<>();
+            config.intercept(TestComponent.class, c -> {
+                calls.add("first");
+                return c;
+            });
+            config.intercept(TestComponent.class, c -> {
+                calls.add("second");
+                return new Decorated(c);
+            });
+            config.bind(TestComponent.class, TypeBindingTest.WithScopeTest.NotSingletonComponent.class);
+
+            TestComponent component = config.getContext().get(ComponentRef.of(TestComponent.class)).get();
+
+            assertEquals(List.of("first", "second"), calls);
+            assertTrue(component instanceof Decorated);
+        }
+
+        @Test
+        public void should_intercept_singleton_only_once() {
+            List<TestComponent> intercepted = new ArrayList<>();
+            config.intercept(TestComponent.class, c -> {
+                intercepted.add(c);
+                return new Decorated(c);
+            });
+            config.bind(TestComponent.class, TypeBindingTest.WithScopeTest.NotSingletonComponent.class, new SingletonLiteral());
+            Context context = config.getContext();
+
+            assertSame(context.get(ComponentRef.of(TestComponent.class)).get(), context.get(ComponentRef.of(TestComponent.class)).get());
+            assertEquals(1, intercepted.size());
+        }
+
+        @Test
+        public void should_throw_exception_if_intercept_type_already_bound() {
+            config.bind(TestComponent.class, instance);
+
+            assertThrows(IllegalComponentException.class, () -> config.intercept(TestComponent.class, Decorated::new));
+        }
+
+        @Test
+        public void should_throw_exception_if_intercept_type_already_bound_with_qualifier() {
+            config.bind(TestComponent.class, instance, new SkywalkerLiteral());
+
+            assertThrows(IllegalComponentException.class, () -> config.intercept(TestComponent.class, Decorated::new));
+        }
+
+        @Test
+        public void should_not_intercept_other_types() {
+            config.intercept(TestComponent.class, Decorated::new);
+            config.bind(Dependency.class, dependency);
+
+            assertSame(dependency, config.getContext().get(ComponentRef.of(Dependency.class)).get());
+        }
+    }
+
+    @Nested
+    public class MetricsTest {
+        @BeforeEach
+        public void enableMetrics() {
+            config.enableMetrics();
+        }
+
+        @Test
+        public void should_count_instances_created_for_prototype_component() {
+            config.bind(TestComponent.class, TypeBindingTest.WithScopeTest.NotSingletonComponent.class);
+            Context context = config.getContext();
+            context.get(ComponentRef.of(TestComponent.class));
+            context.get(ComponentRef.of(TestComponent.class));
+
+            ComponentMetrics metrics = context.metrics().get(new Component(TestComponent.class, null));
+
+            assertEquals(2, metrics.gets());
+            assertEquals(2, metrics.instances());
+            assertEquals(0, metrics.reused());
+        }
+
+        @Test
+        public void should_count_reused_instances_for_singleton_component() {
+            config.bind(TestComponent.class, TypeBindingTest.WithScopeTest.NotSingletonComponent.class, new SingletonLiteral());
+            Context context = config.getContext();
+            for (int i = 0; i < 3; i++) context.get(ComponentRef.of(TestComponent.class));
+
+            ComponentMetrics metrics = context.metrics().get(new Component(TestComponent.class, null));
+
+            assertEquals(3, metrics.gets());
+            assertEquals(1, metrics.instances());
+            assertEquals(2, metrics.reused());
+        }
+
+        @Test
+        public void should_count_provider_gets() {
+            config.bind(TestComponent.class, instance, new SkywalkerLiteral());
+            Context context = config.getContext();
+            Provider<TestComponent> provider = context.get(new ComponentRef<Provider<TestComponent>>(new SkywalkerLiteral()) {
+            }).get();
+            provider.get();
+            provider.get();
+
+            ComponentMetrics metrics = context.metrics().get(new Component(TestComponent.class, new SkywalkerLiteral()));
+
+            assertEquals(0, metrics.gets());
+            assertEquals(2, metrics.providerGets());
+            assertEquals(0, metrics.instances());
+        }
+
+        @Test
+        public void should_count_dependencies_resolved_during_injection() {
+            config.bind(Dependency.class, dependency);
+            config.bind(TestComponent.class, TypeBindingTest.ConstructInjection.class);
+            Context context = config.getContext();
+            context.get(ComponentRef.of(TestComponent.class));
+
+            assertEquals(1, context.metrics().get(new Component(Dependency.class, null)).gets());
+            assertTrue(context.metrics().get(new Component(TestComponent.class, null)).injectionNanos() > 0);
+        }
+
+        @Test
+        public void should_count_gets_per_qualified_component() {
+            config.bind(TestComponent.class, TypeBindingTest.WithScopeTest.NotSingletonComponent.class,
+                    new SingletonLiteral(), new SkywalkerLiteral(), new NamedLiteral("named"));
+            Context context = config.getContext();
+            context.get(ComponentRef.of(TestComponent.class, new SkywalkerLiteral()));
+            context.get(ComponentRef.of(TestComponent.class, new SkywalkerLiteral()));
+            context.get(ComponentRef.of(TestComponent.class, new NamedLiteral("named")));
+
+            assertEquals(2, context.metrics().get(new Component(TestComponent.class, new SkywalkerLiteral())).gets());
+            assertEquals(1, context.metrics().get(new Component(TestComponent.class, new NamedLiteral("named"))).gets());
+            assertEquals(1, context.metrics().get(new Component(TestComponent.class, new NamedLiteral("named"))).instances());
+        }
+
+        @Test
+        public void should_not_measure_unless_enabled() {
+            ContextConfig config = new ContextConfig();
+            config.bind(TestComponent.class, instance);
+            Context context = config.getContext();
+            context.get(ComponentRef.of(TestComponent.class));
+
+            assertTrue(context.metrics().isEmpty());
+        }
+
+        @Test
+        public void should_throw_exception_if_metrics_enabled_after_binding() {
+            ContextConfig config = new ContextConfig();
+            config.bind(TestComponent.class, instance);
+
+            assertThrows(IllegalStateException.class, config::enableMetrics);
+        }
+    }
+
+    @Nested
+    public class AllocationTest {
+        static final int INSTANCES = 100_000;
+
+        @Test
+        public void should_not_allocate_beyond_instance_for_constructor_injection() {
+            config.bind(Dependency.class, dependency);
+            config.bind(TestComponent.class, TypeBindingTest.ConstructInjection.class);
+
+            assertTrue(allocatedBytesPerInstance(config.getContext()) < 128);
+        }
+
+        @Test
+        public void should_not_allocate_beyond_instance_for_field_injection() {
+            config.bind(Dependency.class, dependency);
+            config.bind(TestComponent.class, TypeBindingTest.FieldInjection.class);
+
+            assertTrue(allocatedBytesPerInstance(config.getContext()) < 128);
+        }
+
+        @Test
+        public void should_not_allocate_beyond_instance_for_method_injection() {
+            config.bind(Dependency.class, dependency);
+            config.bind(TestComponent.class, TypeBindingTest.MethodInjection.class);
+
+            assertTrue(allocatedBytesPerInstance(config.getContext()) < 128);
+        }
+
+        private long allocatedBytesPerInstance(Context context) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            ComponentRef<TestComponent> ref = ComponentRef.of(TestComponent.class);
+            long threadId = Thread.currentThread().getId();
+            long minimum = Long.MAX_VALUE;
+            for (int round = 0; round < 10; round++) {
+                long before = threads.getThreadAllocatedBytes(threadId);
+                for (int i = 0; i < INSTANCES; i++) context.get(ref).get();
+                minimum = Math.min(minimum, (threads.getThreadAllocatedBytes(threadId) - before) / INSTANCES);
+            }
+            return minimum;
+        }
+    }
+
     @Nested
     public class DependencyCheckTest {
         // dependencies not exist
@@ -0,0 +1,170 @@
+package geektime.tdd.di;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Nested
+public class MemoizerTest {
+
+    @Test
+    public void should_load_value_on_first_access() {
+        Memoizer<String, Integer> memoizer = new Memoizer<>(2);
+
+        assertEquals(5, memoizer.get("hello", String::length));
+        assertEquals(0, memoizer.hits());
+        assertEquals(1, memoizer.misses());
+    }
+
+    @Test
+    public void should_not_load_value_again_if_memoized() {
+        List<String> loaded = new ArrayList<>();
+        Memoizer<String, Integer> memoizer = new Memoizer<>(2);
+
+        memoizer.get("hello", k -> {
+            loaded.add(k);
+            return k.length();
+        });
+        assertEquals(5, memoizer.get("hello", k -> {
+            loaded.add(k);
+            return k.length();
+        }));
+
+        assertEquals(List.of("hello"), loaded);
+        assertEquals(1, memoizer.hits());
+        assertEquals(1, memoizer.misses());
+    }
+
+    @Test
+    public void should_evict_least_recently_used_value_if_exceed_maximum_size() {
+        Memoizer<String, Integer> memoizer = new Memoizer<>(2);
+        memoizer.get("a", String::length);
+        memoizer.get("b", String::length);
+        memoizer.get("a", String::length);
+        memoizer.get("c", String::length);
+
+        assertEquals(2, memoizer.size());
+        memoizer.get("a", String::length);
+        memoizer.get("b", String::length);
+
+        assertEquals(2, memoizer.hits());
+        assertEquals(4, memoizer.misses());
+    }
+
+    @Test
+    public void should_evict_least_frequently_used_value_if_exceed_maximum_size() {
+        Memoizer<String, Integer> memoizer = new Memoizer<>(2, Memoizer.Policy.LFU);
+        memoizer.get("a", String::length);
+        memoizer.get("a", String::length);
+        memoizer.get("b", String::length);
+        memoizer.get("c", String::length);
+
+        assertEquals(2, memoizer.size());
+        memoizer.get("a", String::length);
+        memoizer.get("b", String::length);
+
+        assertEquals(2, memoizer.hits());
+        assertEquals(4, memoizer.misses());
+    }
+
+    @Test
+    public void should_evict_from_sample_if_larger_than_sample_size() {
+        Memoizer<Integer, Integer> memoizer = new Memoizer<>(Memoizer.SAMPLE_SIZE * 2);
+        for (int i = 0; i < Memoizer.SAMPLE_SIZE * 10; i++)
+            memoizer.get(i, key -> key);
+
+        assertEquals(Memoizer.SAMPLE_SIZE * 2, memoizer.size());
+    }
+
+    @Test
+    public void should_keep_size_bounded_if_loaded_concurrently() throws Exception {
+        Memoizer<Integer, Integer> memoizer = new Memoizer<>(100, Memoizer.Policy.LFU);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> loads = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int offset = thread * 1000;
+                loads.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++)
+                        memoizer.get(offset + i % 300, key -> key);
+                }));
+            }
+            for (Future<?> load : loads)
+                load.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(memoizer.size() <= 100);
+        assertEquals(8000, memoizer.hits() + memoizer.misses());
+    }
+
+    @Test
+    public void should_separate_keys_of_different_methods() {
+        Memoizer<List<Object>, Object> memoizer = new Memoizer<>(10);
+
+        assertEquals("find 1", memoizer.get(Memoizer.key("find", 1), key -> "find 1"));
+        assertEquals(1, memoizer.get(Memoizer.key("count", 1), key -> 1));
+        assertEquals("find 1", memoizer.get(Memoizer.key("find", 1), key -> "other"));
+        assertEquals(2, memoizer.size());
+    }
+
+    @Test
+    public void should_throw_exception_if_maximum_size_not_positive() {
+        assertThrows(IllegalArgumentException.class, () -> new Memoizer<String, Integer>(0));
+    }
+
+    @Test
+    public void should_memoize_method_result_of_bound_component() {
+        interface Repository {
+            String find(String id);
+        }
+        List<String> queries = new ArrayList<>();
+        ContextConfig config = new ContextConfig();
+        Memoizer<List<Object>, String> memoizer = config.memoize(Repository.class, 1, Memoizer.Policy.LFU,
+                (Repository target, Memoizer<List<Object>, String> cache) ->
+                        id -> cache.get(Memoizer.key("find", id), key -> target.find(id)));
+        config.bind(Repository.class, id -> {
+            queries.add(id);
+            return "value of " + id;
+        });
+
+        Repository repository = config.getContext().get(ComponentRef.of(Repository.class)).get();
+        assertEquals("value of 1", repository.find("1"));
+        assertEquals("value of 1", repository.find("1"));
+        assertEquals("value of 2", repository.find("2"));
+
+        assertEquals("value of 2", repository.find("2"));
+
+        assertEquals(List.of("1", "2"), queries);
+        assertEquals(2, memoizer.hits());
+        assertEquals(1, memoizer.size());
+    }
+
+    @Test
+    public void should_memoize_method_result_through_interceptor() {
+        interface Repository {
+            String find(String id);
+        }
+        List<String> queries = new ArrayList<>();
+        Memoizer<String, String> memoizer = new Memoizer<>(10);
+        ContextConfig config = new ContextConfig();
+        config.intercept(Repository.class, target -> id -> memoizer.get(id, target::find));
+        config.bind(Repository.class, id -> {
+            queries.add(id);
+            return "value of " + id;
+        });
+
+        Repository repository = config.getContext().get(ComponentRef.of(Repository.class)).get();
+        assertEquals("value of 1", repository.find("1"));
+        assertEquals("value of 1", repository.find("1"));
+
+        assertEquals(List.of("1"), queries);
+    }
+}
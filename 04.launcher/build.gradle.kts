@@ -0,0 +1,13 @@
+plugins {
+    common
+}
+
+codeCoverage {
+    enabled = false
+}
+
+dependencies {
+    implementation(project(":02.args"))
+    implementation(project(":03.di.container"))
+    implementation("jakarta.inject:jakarta.inject-api:2.0.1")
+}
@@ -0,0 +1,124 @@
+package geektime.tdd.launcher;
+
+import geektime.tdd.args.Args;
+import geektime.tdd.di.Component;
+import geektime.tdd.di.ComponentRef;
+import geektime.tdd.di.Context;
+import geektime.tdd.di.ContextConfig;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 启动器.
+ * 并行解析命令行参数与配置容器, 将解析结果绑定为容器组件, 并预先创建指定的组件;
+ * 依赖 (包括通过 Provider 的依赖) 有交集的预创建组件在同一线程中依次创建, 避免单例锁互相等待.
+ */
+public class Launcher<T> {
+    private final Class<T> options;
+    private final Consumer<ContextConfig> configuration;
+    private final List<ComponentRef<?>> eager = new ArrayList<>();
+
+    public Launcher(Class<T> options, Consumer<ContextConfig> configuration) {
+        this.options = options;
+        this.configuration = configuration;
+    }
+
+    /**
+     * 指定需要在启动时创建的组件.
+     *
+     * @param components 组件
+     * @return 启动器
+     */
+    public Launcher<T> eager(ComponentRef<?>... components) {
+        Collections.addAll(eager, components);
+        return this;
+    }
+
+    /**
+     * 启动.
+     *
+     * @param args 命令行参数
+     * @return 启动结果
+     */
+    public Startup<T> launch(String... args) {
+        Timeline timeline = new Timeline();
+        CompletableFuture<T> parsed = CompletableFuture.supplyAsync(
+                () -> timeline.record("parse", () -> new Args<T>().parse(options, args)));
+        ContextConfig config = timeline.record("bind", () -> {
+            ContextConfig contextConfig = new ContextConfig();
+            configuration.accept(contextConfig);
+            return contextConfig;
+        });
+        T values = join(parsed);
+        config.bind(options, values);
+        Context context = timeline.record("context", config::getContext);
+        timeline.record("eager", () -> groups(config).parallelStream()
+                .map(group -> group.stream()
+                        .map(component -> timeline.record("eager " + component.component().type().getName(),
+                                () -> context.get(component)))
+                        .toList())
+                .toList());
+        return new Startup<>(values, context, timeline.phases());
+    }
+
+    private List<List<ComponentRef<?>>> groups(ContextConfig config) {
+        List<Set<Component>> reached = new ArrayList<>();
+        List<List<ComponentRef<?>>> groups = new ArrayList<>();
+        for (ComponentRef<?> component : eager) {
+            Set<Component> reach = new HashSet<>(config.reachable(component));
+            List<ComponentRef<?>> group = new ArrayList<>();
+            for (int i = 0; i < groups.size(); ) {
+                if (Collections.disjoint(reached.get(i), reach)) {
+                    i++;
+                    continue;
+                }
+                reach.addAll(reached.remove(i));
+                group.addAll(groups.remove(i));
+            }
+            group.add(component);
+            reached.add(reach);
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static class Timeline {
+        private final long origin = System.nanoTime();
+        private final List<Startup.Phase> phases = Collections.synchronizedList(new ArrayList<>());
+
+        <R> R record(String name, Supplier<R> step) {
+            long start = System.nanoTime() - origin;
+            try {
+                return step.get();
+            } finally {
+                phases.add(new Startup.Phase(name, Thread.currentThread().getName(), start,
+                        System.nanoTime() - origin));
+            }
+        }
+
+        List<Startup.Phase> phases() {
+            synchronized (phases) {
+                return phases.stream().sorted(Comparator.comparingLong(Startup.Phase::start)).toList();
+            }
+        }
+    }
+}
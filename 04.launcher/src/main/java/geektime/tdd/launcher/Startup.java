@@ -0,0 +1,19 @@
+package geektime.tdd.launcher;
+
+import geektime.tdd.di.Context;
+import java.util.List;
+
+/**
+ * 启动结果, 包含解析后的命令行参数, 容器以及各阶段的耗时.
+ */
+public record Startup<T>(T options, Context context, List<Phase> timeline) {
+
+    /**
+     * 启动阶段, 起止时间为相对启动开始的纳秒数.
+     */
+    public record Phase(String name, String thread, long start, long end) {
+        public long duration() {
+            return end - start;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package geektime.tdd.launcher;
+
+import geektime.tdd.args.annotation.Option;
+import geektime.tdd.args.exceptions.IllegalOptionException;
+import geektime.tdd.di.ComponentRef;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LauncherTest {
+
+    @Test
+    public void should_bind_parsed_options_as_component() {
+        Startup<ServerOptions> startup = new Launcher<>(ServerOptions.class, config -> {
+        }).launch("-l", "-p", "8080");
+
+        assertEquals(new ServerOptions(true, 8080), startup.options());
+        assertSame(startup.options(), startup.context().get(ComponentRef.of(ServerOptions.class)).get());
+    }
+
+    @Test
+    public void should_inject_parsed_options_into_components() {
+        Startup<ServerOptions> startup = new Launcher<>(ServerOptions.class,
+                config -> config.bind(Server.class, Server.class)).launch("-p", "8080");
+
+        assertEquals(8080, startup.context().get(ComponentRef.of(Server.class)).get().port());
+    }
+
+    @Test
+    public void should_create_eager_components_during_launch() {
+        Server.created = 0;
+        Startup<ServerOptions> startup = new Launcher<>(ServerOptions.class,
+                config -> config.bind(Server.class, Server.class))
+                .eager(ComponentRef.of(Server.class))
+                .launch("-p", "8080");
+
+        assertEquals(1, Server.created);
+        startup.context().get(ComponentRef.of(Server.class));
+        assertEquals(1, Server.created);
+    }
+
+    @Test
+    public void should_report_startup_timeline() {
+        Startup<ServerOptions> startup = new Launcher<>(ServerOptions.class,
+                config -> config.bind(Server.class, Server.class))
+                .eager(ComponentRef.of(Server.class))
+                .launch("-p", "8080");
+
+        List<String> phases = startup.timeline().stream().map(Startup.Phase::name).toList();
+        assertTrue(phases.containsAll(List.of("parse", "bind", "context", "eager", "eager " + Server.class.getName())));
+        assertTrue(startup.timeline().stream().allMatch(phase -> phase.duration() >= 0));
+    }
+
+    @Test
+    public void should_throw_parse_exception_from_launch() {
+        assertThrows(IllegalOptionException.class, () ->
+                new Launcher<>(IllegalOptions.class, config -> {
+                }).launch("-p", "8080"));
+    }
+
+    @Test
+    public void should_create_eager_components_reaching_each_other_on_one_thread() {
+        Startup<ServerOptions> startup = new Launcher<>(ServerOptions.class, config -> {
+            config.bind(Left.class, Left.class);
+            config.bind(Right.class, Right.class);
+            config.bind(Pool.class, Pool.class);
+            config.bind(Reader.class, Reader.class);
+            config.bind(Writer.class, Writer.class);
+        }).eager(ComponentRef.of(Left.class), ComponentRef.of(Reader.class),
+                ComponentRef.of(Right.class), ComponentRef.of(Writer.class)).launch();
+
+        assertEquals(thread(startup, Left.class), thread(startup, Right.class));
+        assertEquals(thread(startup, Reader.class), thread(startup, Writer.class));
+        assertSame(startup.context().get(ComponentRef.of(Reader.class)).get().pool,
+                startup.context().get(ComponentRef.of(Writer.class)).get().pool);
+    }
+
+    private static String thread(Startup<?> startup, Class<?> component) {
+        return startup.timeline().stream().filter(phase -> phase.name().equals("eager " + component.getName()))
+                .findFirst().orElseThrow().thread();
+    }
+
+    @Test
+    public void should_intercept_components_outside_container_package() {
+        Startup<ServerOptions> startup = new Launcher<>(ServerOptions.class, config -> {
+            config.intercept(Greeting.class, greeting -> () -> greeting.text().toUpperCase());
+            config.bind(Greeting.class, Hello.class);
+        }).launch();
+
+        assertEquals("HELLO", startup.context().get(ComponentRef.of(Greeting.class)).get().text());
+    }
+
+    public record ServerOptions(@Option("l") boolean logging, @Option("p") int port) {
+    }
+
+    record IllegalOptions(int port) {
+    }
+
+    @Singleton
+    public static class Server {
+        static int created;
+        private final ServerOptions options;
+
+        @Inject
+        public Server(ServerOptions options) {
+            this.options = options;
+            created++;
+        }
+
+        int port() {
+            return options.port();
+        }
+    }
+
+    public interface Greeting {
+        String text();
+    }
+
+    public static class Hello implements Greeting {
+        @Inject
+        public Hello() {
+        }
+
+        @Override
+        public String text() {
+            return "hello";
+        }
+    }
+
+    @Singleton
+    public static class Left {
+        @Inject
+        public Left(Provider<Right> right) {
+        }
+    }
+
+    @Singleton
+    public static class Right {
+        @Inject
+        public Right(Provider<Left> left) {
+        }
+    }
+
+    @Singleton
+    public static class Pool {
+        @Inject
+        public Pool() {
+        }
+    }
+
+    @Singleton
+    public static class Reader {
+        private final Pool pool;
+
+        @Inject
+        public Reader(Pool pool) {
+            this.pool = pool;
+        }
+    }
+
+    @Singleton
+    public static class Writer {
+        private final Pool pool;
+
+        @Inject
+        public Writer(Pool pool) {
+            this.pool = pool;
+        }
+    }
+}
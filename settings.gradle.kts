@@ -2,3 +2,4 @@ rootProject "geektime-tdd"
 include("01.fizzbuzz")
 include("02.args")
 include("03.di.container")
+include("04.launcher")